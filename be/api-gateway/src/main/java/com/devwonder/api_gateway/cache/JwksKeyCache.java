@@ -0,0 +1,138 @@
+package com.devwonder.api_gateway.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.math.BigInteger;
+import java.net.http.HttpClient;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Local copy of auth-service's JWKS, so RS256 tokens are verified in-process.
+ *
+ * The key set is fetched at startup and refreshed in the background; a token
+ * signed with an unknown {@code kid} (a freshly rotated key) triggers at most one
+ * extra fetch per {@code jwt.jwks.min-refetch-interval}. Requests never wait on
+ * auth-service otherwise, and that one fetch is bounded by the connect and
+ * read timeouts.
+ */
+@Component
+@Slf4j
+public class JwksKeyCache {
+
+    private final RestClient restClient;
+    private final String jwksUri;
+    private final long minRefetchInterval;
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long lastFetchMillis;
+
+    // Not synchronized: a virtual thread blocked on I/O inside a monitor pins its carrier
+    private final ReentrantLock fetchLock = new ReentrantLock();
+
+    @Autowired
+    public JwksKeyCache(@Value("${jwt.jwks-uri:http://auth-service:8084/api/auth/.well-known/jwks.json}") String jwksUri,
+                        @Value("${jwt.jwks.min-refetch-interval:30000}") long minRefetchInterval,
+                        @Value("${jwt.jwks.connect-timeout:1000}") long connectTimeout,
+                        @Value("${jwt.jwks.read-timeout:2000}") long readTimeout) {
+        this(RestClient.builder().requestFactory(requestFactory(connectTimeout, readTimeout)).build(),
+                jwksUri, minRefetchInterval);
+    }
+
+    JwksKeyCache(RestClient restClient, String jwksUri, long minRefetchInterval) {
+        this.restClient = restClient;
+        this.jwksUri = jwksUri;
+        this.minRefetchInterval = minRefetchInterval;
+    }
+
+    /**
+     * @return the public key for {@code kid}, or {@code null} if auth-service does not publish it
+     */
+    public PublicKey get(String kid) {
+        if (kid == null) {
+            return null;
+        }
+        PublicKey key = keys.get(kid);
+        if (key == null && System.currentTimeMillis() - lastFetchMillis > minRefetchInterval) {
+            fetch();
+            key = keys.get(kid);
+        }
+        return key;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        fetch();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.jwks.refresh-interval:300000}",
+               initialDelayString = "${jwt.jwks.refresh-interval:300000}")
+    public void refresh() {
+        fetch();
+    }
+
+    private void fetch() {
+        fetchLock.lock();
+        try {
+            if (System.currentTimeMillis() - lastFetchMillis < 1000) {
+                // Another thread refreshed while we waited for the lock
+                return;
+            }
+            load();
+        } finally {
+            fetchLock.unlock();
+        }
+    }
+
+    private static JdkClientHttpRequestFactory requestFactory(long connectTimeout, long readTimeout) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeout))
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeout));
+        return requestFactory;
+    }
+
+    private void load() {
+        try {
+            JsonNode body = restClient.get().uri(jwksUri).retrieve().body(JsonNode.class);
+            Map<String, PublicKey> fetched = new HashMap<>();
+            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            for (JsonNode jwk : body.path("keys")) {
+                if (!"RSA".equals(jwk.path("kty").asText())) {
+                    continue;
+                }
+                BigInteger modulus = new BigInteger(1, decoder.decode(jwk.path("n").asText()));
+                BigInteger exponent = new BigInteger(1, decoder.decode(jwk.path("e").asText()));
+                fetched.put(jwk.path("kid").asText(), keyFactory.generatePublic(new RSAPublicKeySpec(modulus, exponent)));
+            }
+            keys = Collections.unmodifiableMap(fetched);
+            log.debug("Loaded {} signing key(s) from {}", fetched.size(), jwksUri);
+        } catch (RestClientException e) {
+            // Keep serving the last known key set
+            log.warn("Failed to fetch JWKS from {}: {}", jwksUri, e.getMessage());
+        } catch (Exception e) {
+            log.warn("Failed to parse JWKS from {}: {}", jwksUri, e.getMessage());
+        } finally {
+            lastFetchMillis = System.currentTimeMillis();
+        }
+    }
+}
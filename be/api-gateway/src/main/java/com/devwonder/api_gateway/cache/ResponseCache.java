@@ -0,0 +1,227 @@
+package com.devwonder.api_gateway.cache;
+
+import com.devwonder.api_gateway.config.ResponseCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Store behind the gateway response cache.
+ *
+ * Bounded by total body size and evicted by Caffeine's frequency-and-recency
+ * policy, so a burst of one-off URLs does not push out the popular pages.
+ * Entries live for their upstream freshness lifetime, and those with an ETag
+ * are kept for {@code stale-retention} longer so they can be revalidated with
+ * a cheap conditional request instead of being fetched again.
+ *
+ * Also tracks in-flight upstream fetches, so concurrent misses for one key
+ * wait for a single upstream call.
+ */
+@Slf4j
+public class ResponseCache {
+
+    static final String CACHE_NAME = "gateway.response-cache";
+
+    private final Cache<String, CachedResponse> cache;
+    private final Map<String, CompletableFuture<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Duration staleRetention;
+    private final LongSupplier clock;
+
+    private final Counter hits;
+    private final Counter coalesced;
+    private final Counter revalidated;
+    private final Counter misses;
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::currentTimeMillis);
+    }
+
+    ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.staleRetention = properties.getStaleRetention();
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((String key, CachedResponse response) -> key.length() + response.weight())
+                .expireAfter(Expiry.writing((String key, CachedResponse response) -> retention(response)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+
+        this.hits = counter(meterRegistry, "hit");
+        this.coalesced = counter(meterRegistry, "coalesced");
+        this.revalidated = counter(meterRegistry, "revalidated");
+        this.misses = counter(meterRegistry, "miss");
+        Gauge.builder(CACHE_NAME + ".hit.ratio", this, ResponseCache::hitRatio)
+                .description("Share of cacheable requests answered without a full upstream response")
+                .register(meterRegistry);
+
+        log.info("Response cache initialized with max size: {}, {} rule(s)",
+                properties.getMaxSize(), properties.getRules().size());
+    }
+
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(String key, CachedResponse response) {
+        if (retention(response).compareTo(Duration.ZERO) > 0) {
+            cache.put(key, response);
+        }
+    }
+
+    /**
+     * Registers {@code fetch} as the upstream call for {@code key}.
+     *
+     * @return {@code null} if the caller now owns the fetch and must complete it
+     * through {@link #complete}, otherwise the fetch already in progress
+     */
+    public CompletableFuture<CachedResponse> joinOrLead(String key, CompletableFuture<CachedResponse> fetch) {
+        return inFlight.putIfAbsent(key, fetch);
+    }
+
+    /**
+     * Publishes the outcome of a fetch to waiting requests; {@code null} tells
+     * them the response could not be cached and they must go upstream.
+     */
+    public void complete(String key, CompletableFuture<CachedResponse> fetch, CachedResponse response) {
+        inFlight.remove(key, fetch);
+        fetch.complete(response);
+    }
+
+    public long now() {
+        return clock.getAsLong();
+    }
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordCoalesced() {
+        coalesced.increment();
+    }
+
+    public void recordRevalidated() {
+        revalidated.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    /**
+     * How long a response may be served without revalidation, from its
+     * Cache-Control header.
+     *
+     * @return the lifetime, zero for responses that must always be revalidated,
+     * or {@code null} if the response may not be stored by a shared cache
+     */
+    public static Duration lifetime(HttpHeaders headers, Duration defaultTtl) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null) {
+            return defaultTtl.compareTo(Duration.ZERO) > 0 ? defaultTtl : null;
+        }
+
+        Long maxAge = null;
+        Long sharedMaxAge = null;
+        boolean noCache = false;
+        for (String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+            directive = directive.trim();
+            if (directive.equals("no-store") || directive.startsWith("private")) {
+                return null;
+            }
+            if (directive.startsWith("no-cache")) {
+                noCache = true;
+            } else if (directive.startsWith("s-maxage=")) {
+                sharedMaxAge = seconds(directive.substring("s-maxage=".length()));
+            } else if (directive.startsWith("max-age=")) {
+                maxAge = seconds(directive.substring("max-age=".length()));
+            }
+        }
+
+        if (noCache) {
+            return Duration.ZERO;
+        }
+        Long seconds = sharedMaxAge != null ? sharedMaxAge : maxAge;
+        if (seconds == null) {
+            return defaultTtl.compareTo(Duration.ZERO) > 0 ? defaultTtl : null;
+        }
+        return Duration.ofSeconds(Math.max(0, seconds));
+    }
+
+    private static Long seconds(String value) {
+        try {
+            return Long.parseLong(value.replace("\"", "").trim());
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private Duration retention(CachedResponse response) {
+        long fresh = Math.max(0, response.expiresAt() - clock.getAsLong());
+        return Duration.ofMillis(fresh).plus(response.etag() != null ? staleRetention : Duration.ZERO);
+    }
+
+    private double hitRatio() {
+        double served = hits.count() + coalesced.count() + revalidated.count();
+        double total = served + misses.count();
+        return total == 0 ? 0 : served / total;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(CACHE_NAME + ".requests")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * A stored 200 response. Headers exclude hop-by-hop and per-client ones.
+     */
+    public record CachedResponse(HttpHeaders headers, byte[] body, String etag, long storedAt, long expiresAt) {
+
+        public boolean isFresh(long now) {
+            return now < expiresAt;
+        }
+
+        public long ageSeconds(long now) {
+            return Math.max(0, (now - storedAt) / 1000);
+        }
+
+        /**
+         * The same response, confirmed unchanged by the upstream at {@code now}.
+         */
+        public CachedResponse revalidated(long now, Duration lifetime, String cacheControl) {
+            HttpHeaders refreshed = new HttpHeaders();
+            refreshed.putAll(headers);
+            if (cacheControl != null) {
+                refreshed.setCacheControl(cacheControl);
+            }
+            return new CachedResponse(HttpHeaders.readOnlyHttpHeaders(refreshed), body, etag, now,
+                    now + lifetime.toMillis());
+        }
+
+        int weight() {
+            int weight = body.length;
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                weight += header.getKey().length();
+                for (String value : header.getValue()) {
+                    weight += value.length();
+                }
+            }
+            return weight;
+        }
+    }
+}
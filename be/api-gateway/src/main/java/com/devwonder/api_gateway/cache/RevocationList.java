@@ -0,0 +1,119 @@
+package com.devwonder.api_gateway.cache;
+
+import com.devwonder.api_gateway.util.BloomFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local mirror of auth-service's revoked token ids.
+ *
+ * A Bloom filter sits in front of the exact set, so the common case (a token
+ * that was never revoked) is answered without hashing into the map or any
+ * network call. The mirror is synced incrementally every
+ * {@code jwt.revocation.sync-interval}, which bounds how long a revoked token
+ * keeps working on any replica.
+ */
+@Component
+@Slf4j
+public class RevocationList {
+
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+    private static final int MIN_CAPACITY = 1024;
+
+    private final RestClient restClient;
+    private final String revocationUri;
+    private final long syncOverlap;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter = new BloomFilter(MIN_CAPACITY, FALSE_POSITIVE_RATE);
+    private volatile long syncedUntil;
+
+    @Autowired
+    public RevocationList(@Value("${jwt.revocation.uri:http://auth-service:8084/internal/revocations}") String revocationUri,
+                          @Value("${jwt.revocation.sync-overlap:10000}") long syncOverlap,
+                          MeterRegistry meterRegistry) {
+        this(RestClient.create(), revocationUri, syncOverlap, meterRegistry);
+    }
+
+    RevocationList(RestClient restClient, String revocationUri, long syncOverlap, MeterRegistry meterRegistry) {
+        this.restClient = restClient;
+        this.revocationUri = revocationUri;
+        this.syncOverlap = syncOverlap;
+        Gauge.builder("jwt.revocations.size", revoked, Map::size)
+                .description("Revoked token ids mirrored in this gateway")
+                .register(meterRegistry);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        return revoked.containsKey(jti);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        sync();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval:5000}",
+               initialDelayString = "${jwt.revocation.sync-interval:5000}")
+    public synchronized void sync() {
+        // Overlap the window so clock skew between gateway and auth-service
+        // cannot drop an entry; duplicates are harmless
+        long since = Math.max(0, syncedUntil - syncOverlap);
+        long startedAt = System.currentTimeMillis();
+        try {
+            JsonNode entries = restClient.get()
+                    .uri(revocationUri + "?since={since}", since)
+                    .retrieve()
+                    .body(JsonNode.class);
+            int added = 0;
+            for (JsonNode entry : entries) {
+                String jti = entry.path("jti").asText();
+                if (revoked.put(jti, entry.path("expiresAt").asLong()) == null) {
+                    bloomFilter.put(jti);
+                    added++;
+                }
+            }
+            syncedUntil = startedAt;
+            if (revoked.size() > bloomFilter.capacity()) {
+                rebuild();
+            }
+            if (added > 0) {
+                log.debug("Synced {} new revoked token(s), {} total", added, revoked.size());
+            }
+        } catch (RestClientException e) {
+            log.warn("Failed to sync revoked tokens from {}: {}", revocationUri, e.getMessage());
+        }
+    }
+
+    /**
+     * Forgets tokens that have expired anyway and resizes the filter to match.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.prune-interval:600000}")
+    public synchronized void prune() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        rebuild();
+    }
+
+    private void rebuild() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(MIN_CAPACITY, revoked.size() * 2L), FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+    }
+}
@@ -0,0 +1,114 @@
+package com.devwonder.api_gateway.cache;
+
+import com.devwonder.api_gateway.util.JwtPrincipal;
+import com.devwonder.api_gateway.util.JwtUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Bounded cache of verified access tokens.
+ *
+ * Entries are keyed by the SHA-256 digest of the raw token, so the cache never
+ * holds bearer credentials, and each entry expires exactly when its token does.
+ * A token is therefore verified once and served from memory until its {@code exp}.
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache {
+
+    private static final String CACHE_NAME = "jwt.verified-tokens";
+
+    private final JwtUtil jwtUtil;
+    private final Cache<String, JwtPrincipal> cache;
+
+    public VerifiedTokenCache(JwtUtil jwtUtil,
+                              MeterRegistry meterRegistry,
+                              @Value("${jwt.cache.max-size:10000}") long maxSize) {
+        this.jwtUtil = jwtUtil;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        log.info("Verified token cache initialized with max size: {}", maxSize);
+    }
+
+    /**
+     * Returns the principal for a valid token, verifying it only on a cache miss.
+     *
+     * @return the principal, or {@code null} if the token is invalid or expired
+     */
+    public JwtPrincipal get(String token) {
+        String key = digest(token);
+        try {
+            JwtPrincipal principal = cache.getIfPresent(key);
+            if (principal == null) {
+                // Parsed outside cache.get: an unknown kid fetches the JWKS, and a
+                // blocking call inside the map's compute would hold its bin lock
+                // (and pin a virtual thread's carrier) for every token in that bin
+                principal = jwtUtil.parse(token);
+                cache.put(key, principal);
+            }
+            if (principal.isExpired(Instant.now())) {
+                cache.invalidate(key);
+                return null;
+            }
+            return principal;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("JWT token validation failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    public void invalidate(String token) {
+        cache.invalidate(digest(token));
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class TokenExpiry implements Expiry<String, JwtPrincipal> {
+
+        @Override
+        public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+            long remaining = Duration.between(Instant.now(), principal.expiresAt()).toNanos();
+            return Math.max(remaining, 0L);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, principal, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.devwonder.api_gateway.config;
+
+import com.devwonder.api_gateway.filter.RateLimitFilter;
+import com.devwonder.api_gateway.ratelimit.LocalRateLimiter;
+import com.devwonder.api_gateway.ratelimit.RateLimiter;
+import com.devwonder.api_gateway.ratelimit.RedisRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@Slf4j
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties properties, ObjectProvider<StringRedisTemplate> redisTemplate) {
+        LocalRateLimiter local = new LocalRateLimiter(properties.getMaxBuckets(), idleExpiry(properties));
+        if (!"redis".equalsIgnoreCase(properties.getBackend())) {
+            return local;
+        }
+        StringRedisTemplate template = redisTemplate.getIfAvailable();
+        if (template == null) {
+            log.warn("gateway.rate-limit.backend=redis but Redis is not configured, using local buckets");
+            return local;
+        }
+        return new RedisRateLimiter(template, local);
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties,
+                                           MeterRegistry meterRegistry) {
+        return new RateLimitFilter(rateLimiter, properties, meterRegistry);
+    }
+
+    // Only run inside the security chain (after JWT authentication), not as a plain servlet filter
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    // A bucket idle for longer than it takes to refill completely is equivalent to a new one
+    private static Duration idleExpiry(RateLimitProperties properties) {
+        return properties.getRules().stream()
+                .filter(rule -> rule.getLimit() > 0 && rule.getPeriod() != null)
+                .map(rule -> rule.getPeriod().multipliedBy(rule.effectiveBurst()).dividedBy(rule.getLimit()))
+                .max(Duration::compareTo)
+                .orElse(Duration.ofMinutes(1))
+                .plusSeconds(1);
+    }
+}
@@ -0,0 +1,63 @@
+package com.devwonder.api_gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate limit rules, e.g.
+ * <pre>
+ * gateway.rate-limit.rules[0].id=login-per-ip
+ * gateway.rate-limit.rules[0].path=/api/auth/login
+ * gateway.rate-limit.rules[0].key=ip
+ * gateway.rate-limit.rules[0].limit=10
+ * gateway.rate-limit.rules[0].period=1m
+ * </pre>
+ * A request must pass every rule whose path and method match it.
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // local (per gateway replica) or redis (shared by all replicas)
+    private String backend = "local";
+
+    // Buckets kept in memory by the local backend; idle ones are dropped first
+    private long maxBuckets = 100_000;
+
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+
+        private String id;
+
+        // Spring path pattern, e.g. /api/auth/**
+        private String path;
+
+        // Empty matches every method
+        private List<String> methods = new ArrayList<>();
+
+        // ip, user (falls back to ip when anonymous) or route (one bucket for all callers)
+        private KeyType key = KeyType.IP;
+
+        // Requests allowed per period on average
+        private long limit;
+
+        private Duration period = Duration.ofSeconds(1);
+
+        // Requests allowed back-to-back; defaults to limit
+        private long burst;
+
+        public long effectiveBurst() {
+            return burst > 0 ? burst : limit;
+        }
+    }
+
+    public enum KeyType { IP, USER, ROUTE }
+}
@@ -0,0 +1,49 @@
+package com.devwonder.api_gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gateway response cache for public GET endpoints, e.g.
+ * <pre>
+ * gateway.response-cache.rules[0].path=/api/products/**
+ * gateway.response-cache.rules[0].default-ttl=60s
+ * </pre>
+ * Only anonymous GETs on a matching path are cached. Upstream Cache-Control
+ * decides the lifetime; default-ttl applies when the upstream sends none.
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    // Total size of cached bodies; least valuable entries are evicted first
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+
+    // Larger responses are passed through without being cached
+    private DataSize maxEntrySize = DataSize.ofMegabytes(1);
+
+    // How long expired entries with an ETag are kept for revalidation
+    private Duration staleRetention = Duration.ofMinutes(10);
+
+    // How long concurrent misses wait for the one upstream call before going upstream themselves
+    private Duration coalesceTimeout = Duration.ofSeconds(5);
+
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+
+        // Spring path pattern, e.g. /api/blogs/**
+        private String path;
+
+        // Used when the upstream response has no Cache-Control; zero means do not cache
+        private Duration defaultTtl = Duration.ZERO;
+    }
+}
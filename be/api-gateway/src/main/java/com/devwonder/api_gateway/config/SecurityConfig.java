@@ -1,9 +1,12 @@
 package com.devwonder.api_gateway.config;
 
 import com.devwonder.api_gateway.filter.JwtGlobalFilter;
+import com.devwonder.api_gateway.filter.RateLimitFilter;
+import com.devwonder.api_gateway.filter.ResponseCacheFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -17,6 +20,12 @@ public class SecurityConfig {
     @Autowired
     private JwtGlobalFilter jwtGlobalFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    @Autowired
+    private ResponseCacheFilter responseCacheFilter;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.csrf(csrf -> csrf.disable())
@@ -27,12 +36,24 @@ public class SecurityConfig {
                 .requestMatchers("/api/auth/register").permitAll()
                 .requestMatchers("/api/auth/refresh").permitAll()
                 .requestMatchers("/api/auth/health").permitAll()
+                .requestMatchers("/api/auth/.well-known/**").permitAll()
                 .requestMatchers("/actuator/**").permitAll()
+
+                // Public catalog and content, served from the response cache
+                .requestMatchers(HttpMethod.GET, "/api/products/**", "/api/blogs/**", "/api/faqs/**",
+                        "/api/content/**", "/api/languages/**").permitAll()
+
+                // Raw send, batch and status endpoints can mail anyone; admins only
+                .requestMatchers("/api/email/**").hasRole("ADMIN")
                 
                 // All other requests need authentication
                 .anyRequest().authenticated()
             )
-            .addFilterBefore(jwtGlobalFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtGlobalFilter, UsernamePasswordAuthenticationFilter.class)
+            // Before authorization, so anonymous login/register traffic is limited too
+            .addFilterAfter(rateLimitFilter, JwtGlobalFilter.class)
+            // Rate limits apply to cached responses as well
+            .addFilterAfter(responseCacheFilter, RateLimitFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,19 @@
+package com.devwonder.api_gateway.config;
+
+import com.devwonder.api_gateway.http.UpstreamClientHttpRequestFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(UpstreamProperties.class)
+public class UpstreamHttpClientConfig {
+
+    // Picked up by the gateway's proxy RestClient in place of the shared JDK client
+    @Bean
+    public UpstreamClientHttpRequestFactory upstreamClientHttpRequestFactory(UpstreamProperties properties,
+                                                                             MeterRegistry meterRegistry) {
+        return new UpstreamClientHttpRequestFactory(properties, meterRegistry);
+    }
+}
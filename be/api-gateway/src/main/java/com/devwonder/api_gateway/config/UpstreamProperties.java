@@ -0,0 +1,93 @@
+package com.devwonder.api_gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Connection settings per backend service, e.g.
+ * <pre>
+ * gateway.upstreams.auth-service.uri=http://auth-service:8084
+ * gateway.upstreams.auth-service.max-connections=100
+ * gateway.upstreams.auth-service.read-timeout=5s
+ * </pre>
+ * Each upstream gets its own connection pool, bulkhead and circuit breaker.
+ * Routes are matched to an upstream by the host and port of their uri.
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway")
+public class UpstreamProperties {
+
+    private Map<String, Upstream> upstreams = new LinkedHashMap<>();
+
+    // Used for route uris that match no configured upstream
+    private Upstream defaultUpstream = new Upstream();
+
+    @Data
+    public static class Upstream {
+
+        private String uri;
+
+        // http1: pooled keep-alive connections; h2c: requests multiplexed over cleartext
+        // HTTP/2 (the upstream needs server.http2.enabled=true)
+        private Protocol protocol = Protocol.HTTP1;
+
+        // Pool size; requests beyond it wait up to acquire-timeout for a connection
+        private int maxConnections = 50;
+
+        private Duration acquireTimeout = Duration.ofSeconds(1);
+
+        private Duration connectTimeout = Duration.ofSeconds(2);
+
+        private Duration readTimeout = Duration.ofSeconds(10);
+
+        // Idle keep-alive connections are closed after this long
+        private Duration idleTimeout = Duration.ofSeconds(30);
+
+        // Extra attempts for idempotent requests on connection failures or 502/503
+        private int retries = 2;
+
+        private Duration retryInterval = Duration.ofMillis(100);
+
+        private Bulkhead bulkhead = new Bulkhead();
+
+        private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    }
+
+    public enum Protocol { HTTP1, H2C }
+
+    @Data
+    public static class Bulkhead {
+
+        // Concurrent requests to the upstream; further requests get an immediate 503
+        private int maxConcurrentCalls = 50;
+
+        private Duration maxWait = Duration.ZERO;
+    }
+
+    @Data
+    public static class CircuitBreaker {
+
+        private boolean enabled = true;
+
+        // Failed (I/O error, 502, 503, 504) or slow calls, in percent of the sliding window
+        private float failureRateThreshold = 50;
+
+        private float slowCallRateThreshold = 80;
+
+        private Duration slowCallDuration = Duration.ofSeconds(5);
+
+        // Last N calls considered, once at least minimum-calls have been made
+        private int slidingWindowSize = 20;
+
+        private int minimumCalls = 10;
+
+        // Time spent open before letting half-open-calls probe requests through
+        private Duration openDuration = Duration.ofSeconds(10);
+
+        private int halfOpenCalls = 3;
+    }
+}
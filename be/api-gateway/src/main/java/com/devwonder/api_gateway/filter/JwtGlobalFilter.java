@@ -1,6 +1,8 @@
 package com.devwonder.api_gateway.filter;
 
-import com.devwonder.api_gateway.util.JwtUtil;
+import com.devwonder.api_gateway.cache.RevocationList;
+import com.devwonder.api_gateway.cache.VerifiedTokenCache;
+import com.devwonder.api_gateway.util.JwtPrincipal;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,7 +26,10 @@ import java.util.Collections;
 public class JwtGlobalFilter extends OncePerRequestFilter {
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private RevocationList revocationList;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
@@ -36,9 +41,12 @@ public class JwtGlobalFilter extends OncePerRequestFilter {
             String token = authHeader.substring(7);
             
             try {
-                if (jwtUtil.validateToken(token)) {
-                    String username = jwtUtil.extractUsername(token);
-                    String role = jwtUtil.extractRole(token);
+                JwtPrincipal principal = verifiedTokenCache.get(token);
+                if (principal != null && revocationList.isRevoked(principal.jti())) {
+                    log.debug("JWT token {} has been revoked", principal.jti());
+                } else if (principal != null) {
+                    String username = principal.username();
+                    String role = principal.role();
                     
                     // Set authentication in SecurityContext
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
@@ -0,0 +1,133 @@
+package com.devwonder.api_gateway.filter;
+
+import com.devwonder.api_gateway.config.RateLimitProperties;
+import com.devwonder.api_gateway.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the configured rate limit rules. Runs inside the security chain right
+ * after {@link JwtGlobalFilter}, so per-user rules see the authenticated caller.
+ * A request takes a token from every matching rule or from none: when a later
+ * rule rejects it, the tokens already taken from earlier rules are given back.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final List<CompiledRule> rules;
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.rules = properties.isEnabled()
+                ? properties.getRules().stream().map(rule -> new CompiledRule(rule, meterRegistry)).toList()
+                : List.of();
+        log.info("Rate limiting initialized with {} rule(s), backend: {}", rules.size(), properties.getBackend());
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (!rules.isEmpty()) {
+            PathContainer path = PathContainer.parsePath(request.getRequestURI());
+            List<CompiledRule> acquired = new ArrayList<>(2);
+            List<String> acquiredKeys = new ArrayList<>(2);
+            for (CompiledRule rule : rules) {
+                if (!rule.matches(request.getMethod(), path)) {
+                    continue;
+                }
+                String key = rule.bucketKey(request);
+                RateLimiter.Decision decision = rateLimiter.tryAcquire(key, rule.rule);
+                if (!decision.allowed()) {
+                    // The request is not served, so it must not drain the broader buckets either
+                    for (int i = 0; i < acquired.size(); i++) {
+                        rateLimiter.release(acquiredKeys.get(i), acquired.get(i).rule);
+                    }
+                    rule.rejected.increment();
+                    log.debug("Rate limit {} exceeded for {} {}", rule.rule.getId(), request.getMethod(), request.getRequestURI());
+                    reject(response, decision.retryAfterMillis());
+                    return;
+                }
+                acquired.add(rule);
+                acquiredKeys.add(key);
+            }
+            acquired.forEach(rule -> rule.allowed.increment());
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static void reject(HttpServletResponse response, long retryAfterMillis) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString((retryAfterMillis + 999) / 1000));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"Too many requests\",\"status\":429}");
+    }
+
+    private static final class CompiledRule {
+
+        final RateLimitProperties.Rule rule;
+        final PathPattern pattern;
+        final Set<String> methods;
+        final Counter allowed;
+        final Counter rejected;
+
+        CompiledRule(RateLimitProperties.Rule rule, MeterRegistry meterRegistry) {
+            if (rule.getId() == null || rule.getPath() == null || rule.getLimit() <= 0
+                    || rule.getPeriod() == null || rule.getPeriod().isZero() || rule.getPeriod().isNegative()) {
+                throw new IllegalStateException("Rate limit rule needs an id, a path, a positive limit and period: " + rule);
+            }
+            this.rule = rule;
+            this.pattern = PathPatternParser.defaultInstance.parse(rule.getPath());
+            this.methods = rule.getMethods().stream()
+                    .map(method -> method.toUpperCase(Locale.ROOT))
+                    .collect(Collectors.toUnmodifiableSet());
+            this.allowed = Counter.builder("gateway.ratelimit.requests")
+                    .tag("rule", rule.getId()).tag("result", "allowed")
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("gateway.ratelimit.requests")
+                    .tag("rule", rule.getId()).tag("result", "rejected")
+                    .register(meterRegistry);
+        }
+
+        boolean matches(String method, PathContainer path) {
+            return (methods.isEmpty() || methods.contains(method)) && pattern.matches(path);
+        }
+
+        String bucketKey(HttpServletRequest request) {
+            return switch (rule.getKey()) {
+                case ROUTE -> rule.getId();
+                case USER -> {
+                    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+                    yield authentication != null && authentication.isAuthenticated()
+                            && !(authentication instanceof AnonymousAuthenticationToken)
+                            ? rule.getId() + ":u:" + authentication.getName()
+                            : rule.getId() + ":ip:" + request.getRemoteAddr();
+                }
+                case IP -> rule.getId() + ":ip:" + request.getRemoteAddr();
+            };
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.devwonder.api_gateway.filter;
+
+import com.devwonder.api_gateway.cache.ResponseCache;
+import com.devwonder.api_gateway.cache.ResponseCache.CachedResponse;
+import com.devwonder.api_gateway.config.ResponseCacheProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Serves anonymous GETs on the configured public paths from {@link ResponseCache}.
+ *
+ * Responses are keyed on path, query and Accept-Language. A stale entry with an
+ * ETag is revalidated with If-None-Match, and a 304 from the upstream refreshes
+ * it. Only one request per key goes upstream at a time; the others wait for its
+ * response. Clients' own If-None-Match headers are answered by the gateway.
+ */
+@Slf4j
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final String X_CACHE = "X-Cache";
+
+    // Not replayed from a cached entry: hop-by-hop, per-client or recomputed on every response
+    private static final Set<String> UNCACHED_HEADERS = Set.of(
+            "connection", "keep-alive", "transfer-encoding", "content-length", "date", "age",
+            "set-cookie", "x-cache");
+
+    private static final Set<String> SUPPORTED_VARY = Set.of("accept-language", "accept-encoding", "origin");
+
+    private final ResponseCache cache;
+    private final ResponseCacheProperties properties;
+    private final List<CompiledRule> rules;
+
+    public ResponseCacheFilter(ResponseCache cache, ResponseCacheProperties properties) {
+        this.cache = cache;
+        this.properties = properties;
+        this.rules = properties.isEnabled()
+                ? properties.getRules().stream().map(CompiledRule::new).toList()
+                : List.of();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        CompiledRule rule = match(request);
+        if (rule == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = key(request);
+        CachedResponse cached = cache.get(key);
+        if (cached != null && cached.isFresh(cache.now())) {
+            cache.recordHit();
+            write(cached, request, response, "HIT");
+            return;
+        }
+
+        CompletableFuture<CachedResponse> fetch = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> inProgress = cache.joinOrLead(key, fetch);
+        if (inProgress != null) {
+            CachedResponse shared = await(inProgress);
+            if (shared != null) {
+                cache.recordCoalesced();
+                write(shared, request, response, "HIT");
+            } else {
+                cache.recordMiss();
+                filterChain.doFilter(request, response);
+            }
+            return;
+        }
+
+        CachedResponse stored = null;
+        try {
+            stored = fetch(key, rule, cached, request, response, filterChain);
+        } finally {
+            cache.complete(key, fetch, stored);
+        }
+    }
+
+    private CachedResponse fetch(String key, CompiledRule rule, CachedResponse stale, HttpServletRequest request,
+                                 HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String etag = stale != null ? stale.etag() : null;
+        ContentCachingResponseWrapper upstream = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(new UpstreamRequest(request, etag), upstream);
+
+        long now = cache.now();
+        HttpHeaders headers = headers(upstream);
+        if (etag != null && upstream.getStatus() == HttpStatus.NOT_MODIFIED.value()) {
+            Duration lifetime = ResponseCache.lifetime(headers, rule.defaultTtl);
+            CachedResponse refreshed = stale.revalidated(now, lifetime != null ? lifetime : Duration.ZERO,
+                    headers.getCacheControl());
+            cache.put(key, refreshed);
+            cache.recordRevalidated();
+            write(refreshed, request, response, "REVALIDATED");
+            return refreshed;
+        }
+
+        cache.recordMiss();
+        CachedResponse fresh = toCachedResponse(upstream, headers, rule, now);
+        if (fresh == null) {
+            upstream.copyBodyToResponse();
+            return null;
+        }
+        cache.put(key, fresh);
+        write(fresh, request, response, "MISS");
+        return fresh;
+    }
+
+    private CachedResponse toCachedResponse(ContentCachingResponseWrapper upstream, HttpHeaders headers,
+                                            CompiledRule rule, long now) {
+        if (upstream.getStatus() != HttpStatus.OK.value()
+                || upstream.getContentSize() > properties.getMaxEntrySize().toBytes()
+                || upstream.containsHeader(HttpHeaders.SET_COOKIE)
+                || headers.containsKey(HttpHeaders.CONTENT_ENCODING)
+                || !headers.getVary().stream().allMatch(name -> SUPPORTED_VARY.contains(name.toLowerCase(Locale.ROOT)))) {
+            return null;
+        }
+        Duration lifetime = ResponseCache.lifetime(headers, rule.defaultTtl);
+        String etag = headers.getETag();
+        if (lifetime == null || (lifetime.isZero() && etag == null)) {
+            return null;
+        }
+        return new CachedResponse(HttpHeaders.readOnlyHttpHeaders(headers), upstream.getContentAsByteArray(),
+                etag, now, now + lifetime.toMillis());
+    }
+
+    private void write(CachedResponse cached, HttpServletRequest request, HttpServletResponse response, String result)
+            throws IOException {
+        cached.headers().forEach((name, values) -> {
+            response.setHeader(name, values.get(0));
+            values.stream().skip(1).forEach(value -> response.addHeader(name, value));
+        });
+        response.setHeader(HttpHeaders.AGE, Long.toString(cached.ageSeconds(cache.now())));
+        response.setHeader(X_CACHE, result);
+
+        if (cached.etag() != null && etagMatches(request.getHeader(HttpHeaders.IF_NONE_MATCH), cached.etag())) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentLength(cached.body().length);
+        response.getOutputStream().write(cached.body());
+    }
+
+    private CachedResponse await(CompletableFuture<CachedResponse> inProgress) {
+        try {
+            return inProgress.get(properties.getCoalesceTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
+    private CompiledRule match(HttpServletRequest request) {
+        if (rules.isEmpty() || !"GET".equals(request.getMethod())
+                || request.getHeader(HttpHeaders.AUTHORIZATION) != null) {
+            return null;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (CompiledRule rule : rules) {
+            if (rule.pattern.matches(path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static String key(HttpServletRequest request) {
+        String query = request.getQueryString();
+        String language = request.getHeader(HttpHeaders.ACCEPT_LANGUAGE);
+        return request.getRequestURI()
+                + (query != null ? "?" + query : "")
+                + "|" + (language != null ? language.trim().toLowerCase(Locale.ROOT) : "");
+    }
+
+    private static HttpHeaders headers(ContentCachingResponseWrapper response) {
+        HttpHeaders headers = new HttpHeaders();
+        for (String name : response.getHeaderNames()) {
+            String lowerCase = name.toLowerCase(Locale.ROOT);
+            if (!UNCACHED_HEADERS.contains(lowerCase) && !lowerCase.startsWith("access-control-")) {
+                headers.put(name, List.copyOf(response.getHeaders(name)));
+            }
+        }
+        return headers;
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = weakless(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.equals("*") || weakless(candidate).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // If-None-Match uses weak comparison
+    private static String weakless(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    /**
+     * The client request as sent upstream: the client's own validators are
+     * dropped, since the gateway answers them, and the stale entry's ETag is
+     * sent instead when there is one.
+     */
+    private static final class UpstreamRequest extends HttpServletRequestWrapper {
+
+        private static final Set<String> CLIENT_VALIDATORS = Set.of("if-none-match", "if-modified-since");
+
+        private final String etag;
+
+        UpstreamRequest(HttpServletRequest request, String etag) {
+            super(request);
+            this.etag = etag;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name)) {
+                return etag;
+            }
+            return CLIENT_VALIDATORS.contains(name.toLowerCase(Locale.ROOT)) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name)) {
+                return etag != null ? Collections.enumeration(List.of(etag)) : Collections.emptyEnumeration();
+            }
+            return CLIENT_VALIDATORS.contains(name.toLowerCase(Locale.ROOT))
+                    ? Collections.emptyEnumeration()
+                    : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            List<String> names = Collections.list(super.getHeaderNames()).stream()
+                    .filter(name -> !CLIENT_VALIDATORS.contains(name.toLowerCase(Locale.ROOT)))
+                    .collect(Collectors.toCollection(ArrayList::new));
+            if (etag != null) {
+                names.add(HttpHeaders.IF_NONE_MATCH);
+            }
+            return Collections.enumeration(names);
+        }
+    }
+
+    private static final class CompiledRule {
+
+        final PathPattern pattern;
+        final Duration defaultTtl;
+
+        CompiledRule(ResponseCacheProperties.Rule rule) {
+            if (rule.getPath() == null) {
+                throw new IllegalStateException("Response cache rule needs a path: " + rule);
+            }
+            this.pattern = PathPatternParser.defaultInstance.parse(rule.getPath());
+            this.defaultTtl = rule.getDefaultTtl() != null ? rule.getDefaultTtl() : Duration.ZERO;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.devwonder.api_gateway.http;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Upstream request executed through its {@link UpstreamGuard}. Keeps request
+ * bodies streaming when the underlying request supports it.
+ */
+final class GuardedClientHttpRequest implements ClientHttpRequest, StreamingHttpOutputMessage {
+
+    private final ClientHttpRequest delegate;
+    private final UpstreamGuard guard;
+
+    GuardedClientHttpRequest(ClientHttpRequest delegate, UpstreamGuard guard) {
+        this.delegate = delegate;
+        this.guard = guard;
+    }
+
+    @Override
+    public ClientHttpResponse execute() throws IOException {
+        return guard.execute(delegate);
+    }
+
+    @Override
+    public void setBody(Body body) {
+        if (delegate instanceof StreamingHttpOutputMessage streaming) {
+            streaming.setBody(body);
+        } else {
+            try {
+                body.writeTo(delegate.getBody());
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    @Override
+    public OutputStream getBody() throws IOException {
+        return delegate.getBody();
+    }
+
+    @Override
+    public HttpMethod getMethod() {
+        return delegate.getMethod();
+    }
+
+    @Override
+    public URI getURI() {
+        return delegate.getURI();
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+        return delegate.getAttributes();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return delegate.getHeaders();
+    }
+}
@@ -0,0 +1,84 @@
+package com.devwonder.api_gateway.http;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Upstream response that keeps its {@link UpstreamGuard} permit until it is
+ * closed, which the gateway does once the body has been copied to the client.
+ * Errors while reading the body are reported to the guard as well.
+ */
+final class GuardedClientHttpResponse implements ClientHttpResponse {
+
+    private final ClientHttpResponse delegate;
+    private final UpstreamGuard guard;
+    private final long startNanos;
+    private final Throwable statusError;
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private volatile IOException bodyError;
+
+    GuardedClientHttpResponse(ClientHttpResponse delegate, UpstreamGuard guard, long startNanos, Throwable statusError) {
+        this.delegate = delegate;
+        this.guard = guard;
+        this.startNanos = startNanos;
+        this.statusError = statusError;
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() throws IOException {
+        return delegate.getStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+        return delegate.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return delegate.getHeaders();
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+        return new FilterInputStream(delegate.getBody()) {
+
+            @Override
+            public int read() throws IOException {
+                try {
+                    return super.read();
+                } catch (IOException e) {
+                    bodyError = e;
+                    throw e;
+                }
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                try {
+                    return super.read(b, off, len);
+                } catch (IOException e) {
+                    bodyError = e;
+                    throw e;
+                }
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        try {
+            delegate.close();
+        } finally {
+            if (completed.compareAndSet(false, true)) {
+                guard.complete(startNanos, statusError != null ? statusError : bodyError);
+            }
+        }
+    }
+}
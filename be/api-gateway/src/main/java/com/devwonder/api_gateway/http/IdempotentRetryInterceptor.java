@@ -0,0 +1,80 @@
+package com.devwonder.api_gateway.http;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.net.ssl.SSLException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Same retry rules as the pooled HTTP/1.1 clients, for clients that have no
+ * retry strategy of their own (h2c): idempotent requests are retried after
+ * connection failures and after 502/503, timeouts are not. Each attempt
+ * replays the buffered request body on a new request.
+ */
+@Slf4j
+final class IdempotentRetryInterceptor implements ClientHttpRequestInterceptor {
+
+    static final Set<HttpMethod> IDEMPOTENT_METHODS = Set.of(
+            HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.TRACE, HttpMethod.PUT, HttpMethod.DELETE);
+
+    private static final List<Class<? extends IOException>> NON_RETRIABLE = List.of(
+            InterruptedIOException.class, HttpTimeoutException.class, UnknownHostException.class,
+            NoRouteToHostException.class, SSLException.class);
+
+    private final int retries;
+    private final Duration retryInterval;
+
+    IdempotentRetryInterceptor(int retries, Duration retryInterval) {
+        this.retries = retries;
+        this.retryInterval = retryInterval;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!IDEMPOTENT_METHODS.contains(request.getMethod())) {
+            return execution.execute(request, body);
+        }
+        for (int attempt = 1; ; attempt++) {
+            ClientHttpResponse response;
+            try {
+                response = execution.execute(request, body);
+            } catch (IOException e) {
+                if (attempt > retries || NON_RETRIABLE.stream().anyMatch(type -> type.isInstance(e))) {
+                    throw e;
+                }
+                log.debug("Retrying {} {} after {} (attempt {})", request.getMethod(), request.getURI(), e, attempt);
+                pause();
+                continue;
+            }
+            int status = response.getStatusCode().value();
+            if (attempt > retries || (status != 502 && status != 503)) {
+                return response;
+            }
+            response.close();
+            log.debug("Retrying {} {} after status {} (attempt {})", request.getMethod(), request.getURI(), status, attempt);
+            pause();
+        }
+    }
+
+    private void pause() throws InterruptedIOException {
+        try {
+            Thread.sleep(retryInterval.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted between retries");
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.devwonder.api_gateway.http;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fallback returned in place of an upstream response when the call was rejected
+ * by a bulkhead or an open circuit.
+ */
+final class UnavailableClientHttpResponse implements ClientHttpResponse {
+
+    private static final byte[] BODY = "{\"message\":\"Service temporarily unavailable\",\"status\":503}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final HttpHeaders headers = new HttpHeaders();
+
+    UnavailableClientHttpResponse(long retryAfterSeconds) {
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentLength(BODY.length);
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() {
+        return HttpStatus.SERVICE_UNAVAILABLE;
+    }
+
+    @Override
+    public String getStatusText() {
+        return HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public InputStream getBody() {
+        return new ByteArrayInputStream(BODY);
+    }
+
+    @Override
+    public void close() {
+    }
+}
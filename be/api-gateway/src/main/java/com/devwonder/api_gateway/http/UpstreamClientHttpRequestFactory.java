@@ -0,0 +1,218 @@
+package com.devwonder.api_gateway.http;
+
+import com.devwonder.api_gateway.config.UpstreamProperties;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultHttpRequestRetryStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.InterceptingClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import javax.net.ssl.SSLException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.NoRouteToHostException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.UnknownHostException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request factory used by the gateway's proxy client. Picks a dedicated pooled
+ * Apache HttpClient per upstream (keyed by host:port), so connections are kept
+ * alive and reused, and a slow or saturated service can only exhaust its own pool.
+ * Every call also goes through the upstream's {@link UpstreamGuard}.
+ */
+@Slf4j
+public class UpstreamClientHttpRequestFactory implements ClientHttpRequestFactory, DisposableBean {
+
+    private final BulkheadRegistry bulkheadRegistry = BulkheadRegistry.ofDefaults();
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    private final Map<String, UpstreamClient> clients = new HashMap<>();
+    private final UpstreamClient defaultClient;
+
+    public UpstreamClientHttpRequestFactory(UpstreamProperties properties, MeterRegistry meterRegistry) {
+        properties.getUpstreams().forEach((name, upstream) -> {
+            if (upstream.getUri() == null) {
+                throw new IllegalStateException("gateway.upstreams." + name + ".uri is required");
+            }
+            clients.put(authority(URI.create(upstream.getUri())), createClient(name, upstream, meterRegistry));
+            log.info("Upstream {} -> {} ({}, max connections: {}, max concurrent calls: {}, read timeout: {}, circuit breaker: {})",
+                    name, upstream.getUri(), upstream.getProtocol(), upstream.getMaxConnections(),
+                    upstream.getBulkhead().getMaxConcurrentCalls(), upstream.getReadTimeout(),
+                    upstream.getCircuitBreaker().isEnabled());
+        });
+        this.defaultClient = createClient("default", properties.getDefaultUpstream(), meterRegistry);
+
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        UpstreamClient client = clients.getOrDefault(authority(uri), defaultClient);
+        return new GuardedClientHttpRequest(client.factory().createRequest(uri, httpMethod), client.guard());
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (UpstreamClient client : clients.values()) {
+            client.destroy();
+        }
+        defaultClient.destroy();
+    }
+
+    private UpstreamClient createClient(String name, UpstreamProperties.Upstream upstream, MeterRegistry meterRegistry) {
+        UpstreamProperties.Bulkhead bulkheadSettings = upstream.getBulkhead();
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(name, BulkheadConfig.custom()
+                .maxConcurrentCalls(bulkheadSettings.getMaxConcurrentCalls())
+                .maxWaitDuration(bulkheadSettings.getMaxWait())
+                .build());
+
+        UpstreamProperties.CircuitBreaker breakerSettings = upstream.getCircuitBreaker();
+        CircuitBreaker circuitBreaker = breakerSettings.isEnabled()
+                ? circuitBreakerRegistry.circuitBreaker(name, CircuitBreakerConfig.custom()
+                        .failureRateThreshold(breakerSettings.getFailureRateThreshold())
+                        .slowCallRateThreshold(breakerSettings.getSlowCallRateThreshold())
+                        .slowCallDurationThreshold(breakerSettings.getSlowCallDuration())
+                        .slidingWindowSize(breakerSettings.getSlidingWindowSize())
+                        .minimumNumberOfCalls(breakerSettings.getMinimumCalls())
+                        .waitDurationInOpenState(breakerSettings.getOpenDuration())
+                        .permittedNumberOfCallsInHalfOpenState(breakerSettings.getHalfOpenCalls())
+                        // Move to half-open on time alone, even if no request arrives to trigger it
+                        .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                        .build())
+                : null;
+        if (circuitBreaker != null) {
+            circuitBreaker.getEventPublisher().onStateTransition(event ->
+                    log.warn("Circuit for upstream {}: {}", name, event.getStateTransition()));
+        }
+
+        ClientHttpRequestFactory factory = upstream.getProtocol() == UpstreamProperties.Protocol.H2C
+                ? createH2cFactory(upstream)
+                : createFactory(name, upstream, meterRegistry);
+        return new UpstreamClient(factory,
+                new UpstreamGuard(name, bulkhead, circuitBreaker, breakerSettings.getOpenDuration(), meterRegistry));
+    }
+
+    private static HttpComponentsClientHttpRequestFactory createFactory(String name, UpstreamProperties.Upstream upstream,
+                                                                        MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(upstream.getMaxConnections())
+                .setMaxConnPerRoute(upstream.getMaxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(upstream.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(upstream.getReadTimeout()))
+                        // Re-check connections idle this long before reuse; the peer may have closed them
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "gateway-upstream", "upstream", name)
+                .bindTo(meterRegistry);
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(upstream.getAcquireTimeout()))
+                        .setResponseTimeout(Timeout.of(upstream.getReadTimeout()))
+                        .build())
+                .setRetryStrategy(new IdempotentRetryStrategy(upstream))
+                .evictIdleConnections(TimeValue.of(upstream.getIdleTimeout()))
+                .evictExpiredConnections()
+                // The gateway proxies for many clients: never keep cookies or follow redirects itself
+                .disableCookieManagement()
+                .disableRedirectHandling()
+                .build();
+
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    /**
+     * HTTP/2 over cleartext via the JDK client: the first request upgrades the
+     * connection, later ones are multiplexed on it, so there is no pool to size
+     * (and no pool metrics). The JDK client has no retry strategy, so idempotent
+     * requests go through {@link IdempotentRetryInterceptor}, which buffers their
+     * body; other requests are streamed as before.
+     */
+    private static ClientHttpRequestFactory createH2cFactory(UpstreamProperties.Upstream upstream) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(upstream.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(upstream.getReadTimeout());
+        if (upstream.getRetries() <= 0) {
+            return factory;
+        }
+        ClientHttpRequestFactory retrying = new InterceptingClientHttpRequestFactory(factory,
+                List.of(new IdempotentRetryInterceptor(upstream.getRetries(), upstream.getRetryInterval())));
+        return (uri, method) -> IdempotentRetryInterceptor.IDEMPOTENT_METHODS.contains(method)
+                ? retrying.createRequest(uri, method)
+                : factory.createRequest(uri, method);
+    }
+
+    private record UpstreamClient(ClientHttpRequestFactory factory, UpstreamGuard guard) {
+
+        void destroy() throws Exception {
+            if (factory instanceof DisposableBean disposable) {
+                disposable.destroy();
+            }
+        }
+    }
+
+    private static String authority(URI uri) {
+        int port = uri.getPort() != -1 ? uri.getPort() : "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        return uri.getHost() + ":" + port;
+    }
+
+    /**
+     * Retries idempotent requests only (the default strategy checks the method)
+     * after connection failures, including refused connections from a restarting
+     * pod, and after 502/503. Timeouts are not retried: a slow upstream would
+     * only get slower.
+     */
+    private static final class IdempotentRetryStrategy extends DefaultHttpRequestRetryStrategy {
+
+        IdempotentRetryStrategy(UpstreamProperties.Upstream upstream) {
+            super(upstream.getRetries(), TimeValue.of(upstream.getRetryInterval()),
+                    List.of(InterruptedIOException.class, UnknownHostException.class,
+                            NoRouteToHostException.class, SSLException.class),
+                    List.of(502, 503));
+        }
+
+        // The base class checks the method for I/O failures but not for status codes
+        @Override
+        public boolean retryRequest(HttpResponse response, int execCount, HttpContext context) {
+            HttpRequest request = HttpClientContext.castOrCreate(context).getRequest();
+            return request != null && handleAsIdempotent(request) && super.retryRequest(response, execCount, context);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.devwonder.api_gateway.http;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulkhead and circuit breaker in front of one upstream.
+ *
+ * The bulkhead caps how many gateway threads can be waiting on or streaming
+ * from the upstream at once, so a slow service cannot tie up the whole servlet
+ * pool. A call holds its permit until its response is closed. The breaker
+ * opens on I/O errors (including while reading the body), 502/503/504 and slow
+ * calls, timed up to the close, then lets a few probe requests through once
+ * open-duration has passed. Rejected calls are answered
+ * with a 503 straight away, without touching the network.
+ */
+@Slf4j
+class UpstreamGuard {
+
+    private final String name;
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final long openRetryAfterSeconds;
+    private final Counter bulkheadRejections;
+    private final Counter circuitOpenRejections;
+
+    UpstreamGuard(String name, Bulkhead bulkhead, CircuitBreaker circuitBreaker, Duration openDuration,
+                  MeterRegistry meterRegistry) {
+        this.name = name;
+        this.bulkhead = bulkhead;
+        this.circuitBreaker = circuitBreaker;
+        this.openRetryAfterSeconds = Math.max(1, openDuration.toSeconds());
+        this.bulkheadRejections = Counter.builder("gateway.upstream.rejected")
+                .tag("upstream", name).tag("reason", "bulkhead")
+                .register(meterRegistry);
+        this.circuitOpenRejections = Counter.builder("gateway.upstream.rejected")
+                .tag("upstream", name).tag("reason", "circuit_open")
+                .register(meterRegistry);
+    }
+
+    ClientHttpResponse execute(ClientHttpRequest request) throws IOException {
+        if (!bulkhead.tryAcquirePermission()) {
+            bulkheadRejections.increment();
+            log.debug("Upstream {} is at its concurrency limit, rejecting {} {}", name, request.getMethod(), request.getURI());
+            return new UnavailableClientHttpResponse(1);
+        }
+        boolean handedOff = false;
+        try {
+            if (circuitBreaker != null && !circuitBreaker.tryAcquirePermission()) {
+                circuitOpenRejections.increment();
+                log.debug("Circuit for upstream {} is {}, rejecting {} {}",
+                        name, circuitBreaker.getState(), request.getMethod(), request.getURI());
+                return new UnavailableClientHttpResponse(openRetryAfterSeconds);
+            }
+
+            long start = System.nanoTime();
+            ClientHttpResponse response = null;
+            int status;
+            try {
+                response = request.execute();
+                status = response.getStatusCode().value();
+            } catch (IOException | RuntimeException e) {
+                if (response != null) {
+                    response.close();
+                }
+                recordOutcome(start, e);
+                throw e;
+            }
+            Throwable statusError = status == 502 || status == 503 || status == 504
+                    ? new UpstreamStatusException(status)
+                    : null;
+            // The permit and the breaker outcome stay open until the body has been streamed
+            handedOff = true;
+            return new GuardedClientHttpResponse(response, this, start, statusError);
+        } finally {
+            if (!handedOff) {
+                bulkhead.onComplete();
+            }
+        }
+    }
+
+    /**
+     * Called once by {@link GuardedClientHttpResponse#close()}: records the whole
+     * call, body included, with the breaker and frees the bulkhead permit.
+     */
+    void complete(long startNanos, Throwable error) {
+        try {
+            recordOutcome(startNanos, error);
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+
+    private void recordOutcome(long startNanos, Throwable error) {
+        if (circuitBreaker == null) {
+            return;
+        }
+        long duration = System.nanoTime() - startNanos;
+        if (error != null) {
+            circuitBreaker.onError(duration, TimeUnit.NANOSECONDS, error);
+        } else {
+            circuitBreaker.onSuccess(duration, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    static final class UpstreamStatusException extends RuntimeException {
+
+        UpstreamStatusException(int status) {
+            super("Upstream responded with " + status, null, false, false);
+        }
+    }
+}
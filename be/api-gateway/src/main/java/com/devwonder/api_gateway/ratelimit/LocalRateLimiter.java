@@ -0,0 +1,62 @@
+package com.devwonder.api_gateway.ratelimit;
+
+import com.devwonder.api_gateway.config.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process limiter. Each bucket is one {@link AtomicLong} updated with a CAS
+ * loop, so checks never lock or allocate once the bucket exists. Buckets live in
+ * a bounded cache and are dropped after being idle long enough to be full again.
+ */
+public class LocalRateLimiter implements RateLimiter {
+
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier nanoClock;
+
+    public LocalRateLimiter(long maxBuckets, Duration idleExpiry) {
+        this(maxBuckets, idleExpiry, System::nanoTime);
+    }
+
+    LocalRateLimiter(long maxBuckets, Duration idleExpiry, LongSupplier nanoClock) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleExpiry)
+                .build();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Decision tryAcquire(String key, RateLimitProperties.Rule rule) {
+        long interval = rule.getPeriod().toNanos() / rule.getLimit();
+        long tolerance = interval * (rule.effectiveBurst() - 1);
+        long now = nanoClock.getAsLong();
+
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long arrival = bucket.get();
+            long base = Math.max(arrival, now);
+            long allowAt = base - tolerance;
+            if (now < allowAt) {
+                return new Decision(false, TimeUnit.NANOSECONDS.toMillis(allowAt - now) + 1);
+            }
+            if (bucket.compareAndSet(arrival, base + interval)) {
+                return Decision.ALLOWED;
+            }
+        }
+    }
+
+    @Override
+    public void release(String key, RateLimitProperties.Rule rule) {
+        AtomicLong bucket = buckets.getIfPresent(key);
+        if (bucket != null) {
+            // A time in the past reads as a full bucket, so no lower bound is needed
+            bucket.addAndGet(-(rule.getPeriod().toNanos() / rule.getLimit()));
+        }
+    }
+}
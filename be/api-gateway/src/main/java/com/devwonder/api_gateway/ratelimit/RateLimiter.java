@@ -0,0 +1,28 @@
+package com.devwonder.api_gateway.ratelimit;
+
+import com.devwonder.api_gateway.config.RateLimitProperties;
+
+/**
+ * Token bucket rate limiter, implemented as GCRA (generic cell rate algorithm):
+ * each bucket is a single "theoretical arrival time" that moves forward by
+ * {@code period / limit} per admitted request, and a request is admitted while
+ * that time is at most {@code (burst - 1) * period / limit} ahead of now.
+ */
+public interface RateLimiter {
+
+    /**
+     * Takes one token from the bucket identified by {@code key} under {@code rule}.
+     */
+    Decision tryAcquire(String key, RateLimitProperties.Rule rule);
+
+    /**
+     * Gives back a token taken by {@link #tryAcquire}, for a request that was
+     * admitted by this bucket but then rejected by another rule.
+     */
+    void release(String key, RateLimitProperties.Rule rule);
+
+    record Decision(boolean allowed, long retryAfterMillis) {
+
+        public static final Decision ALLOWED = new Decision(true, 0);
+    }
+}
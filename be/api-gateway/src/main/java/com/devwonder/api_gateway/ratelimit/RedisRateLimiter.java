@@ -0,0 +1,81 @@
+package com.devwonder.api_gateway.ratelimit;
+
+import com.devwonder.api_gateway.config.RateLimitProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * Cluster-wide limiter: the same GCRA step as {@link LocalRateLimiter}, run
+ * atomically in Redis by a Lua script using the Redis clock. When Redis is
+ * unreachable it degrades to the per-replica limiter instead of failing open.
+ */
+@Slf4j
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final String KEY_PREFIX = "gateway:rate-limit:";
+
+    // KEYS[1] bucket; ARGV[1] interval us, ARGV[2] tolerance us. Returns retry-after in ms, 0 when admitted
+    private static final RedisScript<Long> GCRA = RedisScript.of("""
+            local t = redis.call('TIME')
+            local now = tonumber(t[1]) * 1000000 + tonumber(t[2])
+            local interval = tonumber(ARGV[1])
+            local tolerance = tonumber(ARGV[2])
+            local arrival = tonumber(redis.call('GET', KEYS[1]) or now)
+            local base = math.max(arrival, now)
+            local allow_at = base - tolerance
+            if now < allow_at then
+              return math.floor((allow_at - now) / 1000) + 1
+            end
+            local next_arrival = base + interval
+            redis.call('SET', KEYS[1], next_arrival, 'PX', math.ceil((next_arrival - now) / 1000))
+            return 0
+            """, Long.class);
+
+    // KEYS[1] bucket; ARGV[1] interval us. Moves the arrival time back by one interval
+    private static final RedisScript<Long> RELEASE = RedisScript.of("""
+            local arrival = redis.call('GET', KEYS[1])
+            if not arrival then
+              return 0
+            end
+            local ttl = redis.call('PTTL', KEYS[1])
+            redis.call('SET', KEYS[1], tonumber(arrival) - tonumber(ARGV[1]), 'PX', math.max(ttl, 1))
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RateLimiter fallback;
+
+    public RedisRateLimiter(StringRedisTemplate redisTemplate, RateLimiter fallback) {
+        this.redisTemplate = redisTemplate;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Decision tryAcquire(String key, RateLimitProperties.Rule rule) {
+        long interval = rule.getPeriod().toNanos() / 1000 / rule.getLimit();
+        long tolerance = interval * (rule.effectiveBurst() - 1);
+        try {
+            Long retryAfter = redisTemplate.execute(GCRA, List.of(KEY_PREFIX + key),
+                    Long.toString(interval), Long.toString(tolerance));
+            return retryAfter == null || retryAfter == 0 ? Decision.ALLOWED : new Decision(false, retryAfter);
+        } catch (RuntimeException e) {
+            log.debug("Redis rate limiter unavailable, using local buckets: {}", e.getMessage());
+            return fallback.tryAcquire(key, rule);
+        }
+    }
+
+    @Override
+    public void release(String key, RateLimitProperties.Rule rule) {
+        long interval = rule.getPeriod().toNanos() / 1000 / rule.getLimit();
+        try {
+            redisTemplate.execute(RELEASE, List.of(KEY_PREFIX + key), Long.toString(interval));
+        } catch (RuntimeException e) {
+            // The token was taken from whichever store answered tryAcquire; local is the likely one now
+            log.debug("Redis rate limiter unavailable, releasing to local buckets: {}", e.getMessage());
+            fallback.release(key, rule);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.devwonder.api_gateway.util;
+
+import java.time.Instant;
+
+/**
+ * Immutable view of a verified access token: everything the gateway needs
+ * to authenticate a request without touching the token again.
+ */
+public record JwtPrincipal(String username, String role, String userId, String jti, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return expiresAt.isBefore(now);
+    }
+}
@@ -1,25 +1,64 @@
 package com.devwonder.api_gateway.util;
 
+import com.devwonder.api_gateway.cache.JwksKeyCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.util.Date;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
+    @Value("${jwt.secret:}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private long expiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    @Autowired
+    private JwksKeyCache jwksKeyCache;
+
+    // Built once at startup; JwtParser is immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        this.signingKey = secret.isEmpty() ? null : Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolveVerificationKey(header);
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * HS256 tokens verify with the shared secret (if one is still configured),
+     * RS256 tokens with the auth-service key named by their {@code kid} header.
+     */
+    private Key resolveVerificationKey(JwsHeader<?> header) {
+        if (SignatureAlgorithm.HS256.getValue().equals(header.getAlgorithm()) && signingKey != null) {
+            return signingKey;
+        }
+        if (SignatureAlgorithm.RS256.getValue().equals(header.getAlgorithm())) {
+            Key key = jwksKeyCache.get(header.getKeyId());
+            if (key != null) {
+                return key;
+            }
+        }
+        throw new UnsupportedJwtException("No verification key for alg " + header.getAlgorithm()
+                + " and kid " + header.getKeyId());
     }
 
     public String extractUsername(String token) {
@@ -36,11 +75,7 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     private Boolean isTokenExpired(String token) {
@@ -54,13 +89,33 @@ public class JwtUtil {
 
     public Boolean validateToken(String token) {
         try {
+            // The parser rejects expired tokens itself, so one parse is enough
             extractAllClaims(token);
-            return !isTokenExpired(token);
+            return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
 
+    /**
+     * Verifies the token once and returns all claims the gateway relies on.
+     *
+     * @throws JwtException if the signature is invalid or the token has expired
+     */
+    public JwtPrincipal parse(String token) {
+        Claims claims = extractAllClaims(token);
+        if (claims.getExpiration() == null) {
+            throw new MalformedJwtException("Token has no expiration");
+        }
+        return new JwtPrincipal(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.get("userId", String.class),
+                claims.getId(),
+                claims.getExpiration().toInstant()
+        );
+    }
+
     public String extractUserId(String token) {
         return extractClaim(token, claims -> claims.get("userId", String.class));
     }
@@ -68,4 +123,4 @@ public class JwtUtil {
     public String extractRole(String token) {
         return extractClaim(token, claims -> claims.get("role", String.class));
     }
-}
\ No newline at end of file
+}
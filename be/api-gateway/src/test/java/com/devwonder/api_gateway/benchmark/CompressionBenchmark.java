@@ -0,0 +1,107 @@
+package com.devwonder.api_gateway.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * CPU cost of gzipping typical gateway responses against the bytes it saves.
+ * Level 6 is what Tomcat's server.compression uses; level 1 shows how much CPU
+ * a faster setting would buy back. The compressed size of each payload is
+ * printed during setup.
+ *
+ * Not part of the test suite; run {@link #main(String[])} from the test classpath.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class CompressionBenchmark {
+
+    @Param({"products-20", "products-200", "blog"})
+    private String payload;
+
+    @Param({"1", "6"})
+    private int level;
+
+    private byte[] body;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(1 << 20);
+
+    @Setup
+    public void setup() throws IOException {
+        body = switch (payload) {
+            case "products-20" -> products(20);
+            case "products-200" -> products(200);
+            case "blog" -> blog();
+            default -> throw new IllegalArgumentException(payload);
+        };
+        int compressed = gzip().length;
+        System.out.printf("%n%s at level %d: %d -> %d bytes (%.1f%% saved)%n", payload, level,
+                body.length, compressed, 100.0 * (body.length - compressed) / body.length);
+    }
+
+    @Benchmark
+    public byte[] gzip() throws IOException {
+        out.reset();
+        try (GZIPOutputStream gzip = new LeveledGzipOutputStream(out, level)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] products(int count) {
+        StringBuilder json = new StringBuilder("{\"content\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(1000 + i)
+                    .append(",\"sku\":\"4T-").append(String.format("%05d", i * 37 % 100_000))
+                    .append("\",\"name\":\"Tai nghe Bluetooth 4T Model ").append(i)
+                    .append("\",\"description\":\"Tai nghe khong day chong on, pin 30 gio, sac nhanh USB-C.\"")
+                    .append(",\"price\":").append(490_000 + i * 10_000)
+                    .append(",\"currency\":\"VND\",\"categoryId\":").append(i % 7)
+                    .append(",\"stock\":").append(i * 13 % 250)
+                    .append(",\"images\":[\"https://cdn.4thitek.vn/products/").append(1000 + i).append("/1.webp\"]")
+                    .append(",\"createdAt\":\"2025-08-").append(String.format("%02d", i % 28 + 1)).append("T08:00:00Z\"}");
+        }
+        json.append("],\"page\":0,\"size\":").append(count).append(",\"totalElements\":1200}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] blog() {
+        StringBuilder html = new StringBuilder("{\"id\":42,\"title\":\"Huong dan chon tai nghe\",\"content\":\"");
+        for (int i = 0; i < 40; i++) {
+            html.append("<h2>Phan ").append(i + 1).append("</h2><p>Chat luong am thanh, thoi luong pin va do thoai mai ")
+                    .append("la ba yeu to quan trong nhat khi chon tai nghe. Doan ").append(i)
+                    .append(" so sanh cac mau tai nghe pho bien trong tam gia.</p>");
+        }
+        html.append("\",\"author\":\"4thitek\",\"publishedAt\":\"2025-08-01T08:00:00Z\"}");
+        return html.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+
+        LeveledGzipOutputStream(ByteArrayOutputStream out, int level) throws IOException {
+            super(out);
+            def.setLevel(level == 6 ? Deflater.DEFAULT_COMPRESSION : level);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CompressionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
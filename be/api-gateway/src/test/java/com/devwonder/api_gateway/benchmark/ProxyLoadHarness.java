@@ -0,0 +1,142 @@
+package com.devwonder.api_gateway.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load test for comparing the gateway on platform threads and on
+ * virtual threads: how many concurrent proxied requests it sustains against a
+ * slow upstream, and at what p99, with the same heap.
+ *
+ * <pre>
+ * # a stand-in upstream that takes 200 ms per request
+ * ProxyLoadHarness upstream 9001 200
+ * # the gateway under test, routed to it, e.g. with -Xmx256m and
+ * # spring.threads.virtual.enabled=false (Java 17 or 21) or true (Java 21)
+ * ProxyLoadHarness load http://localhost:8080/api/products 2000 60
+ * </pre>
+ * Disable the rate limiter and response cache for the run, and raise the
+ * upstream's bulkhead and slow-call duration above the stand-in's delay, so
+ * the request threads are what is being measured.
+ * With platform threads, throughput stops growing once concurrency exceeds
+ * server.tomcat.threads.max and latency grows with the queue. With virtual
+ * threads it keeps growing until the upstream's bulkhead is the limit.
+ *
+ * Not part of the test suite; run {@link #main(String[])} from the test classpath.
+ */
+public class ProxyLoadHarness {
+
+    private static final int MAX_SAMPLES = 10_000_000;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 3 && "upstream".equals(args[0])) {
+            upstream(Integer.parseInt(args[1]), Duration.ofMillis(Long.parseLong(args[2])));
+        } else if (args.length == 4 && "load".equals(args[0])) {
+            load(URI.create(args[1]), Integer.parseInt(args[2]), Duration.ofSeconds(Long.parseLong(args[3])));
+        } else {
+            System.err.println("usage: ProxyLoadHarness upstream <port> <delay-ms>");
+            System.err.println("       ProxyLoadHarness load <url> <concurrency> <seconds>");
+            System.exit(2);
+        }
+    }
+
+    private static void upstream(int port, Duration delay) throws Exception {
+        byte[] body = "{\"status\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+        // The JDK server closes idle keep-alive connections beyond 200, which the
+        // gateway then sees as "failed to respond" and counts against the circuit
+        System.setProperty("sun.net.httpserver.maxIdleConnections", "8192");
+        System.setProperty("sun.net.httpserver.idleInterval", "120");
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 4096);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        System.out.printf("Upstream listening on %d, %d ms per request%n", port, delay.toMillis());
+    }
+
+    private static void load(URI uri, int concurrency, Duration duration) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+
+        long[] latencies = new long[MAX_SAMPLES];
+        AtomicInteger samples = new AtomicInteger();
+        AtomicLong unavailable = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        // Each worker sends its next request as soon as the previous one completes
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            send(client, request, deadline, latencies, samples, unavailable, errors, done);
+            workers[i] = done;
+        }
+        CompletableFuture.allOf(workers).join();
+
+        int count = Math.min(samples.get(), MAX_SAMPLES);
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        System.out.printf("concurrency=%d requests=%d throughput=%.0f/s 503=%d errors=%d%n",
+                concurrency, count, count / (double) duration.toSeconds(), unavailable.get(), errors.get());
+        System.out.printf("latency ms: p50=%.1f p99=%.1f p99.9=%.1f max=%.1f%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                percentile(sorted, 1.0));
+    }
+
+    private static void send(HttpClient client, HttpRequest request, long deadline, long[] latencies,
+                             AtomicInteger samples, AtomicLong unavailable, AtomicLong errors,
+                             CompletableFuture<Void> done) {
+        if (System.nanoTime() >= deadline) {
+            done.complete(null);
+            return;
+        }
+        long start = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenCompleteAsync((response, failure) -> {
+            if (failure != null) {
+                errors.incrementAndGet();
+            } else if (response.statusCode() == 503) {
+                unavailable.incrementAndGet();
+            } else if (response.statusCode() >= 400) {
+                errors.incrementAndGet();
+            } else {
+                int index = samples.getAndIncrement();
+                if (index < MAX_SAMPLES) {
+                    latencies[index] = System.nanoTime() - start;
+                }
+            }
+            send(client, request, deadline, latencies, samples, unavailable, errors, done);
+        });
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,65 @@
+package com.devwonder.api_gateway.benchmark;
+
+import com.devwonder.api_gateway.config.RateLimitProperties;
+import com.devwonder.api_gateway.ratelimit.LocalRateLimiter;
+import com.devwonder.api_gateway.ratelimit.RateLimiter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one in-process rate limit check: a hot bucket shared by all threads
+ * (worst-case CAS contention) and a spread of client addresses.
+ *
+ * Not part of the test suite; run {@link #main(String[])} from the test classpath.
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+    private static final int CLIENTS = 50_000;
+
+    private RateLimiter limiter;
+    private RateLimitProperties.Rule rule;
+    private String[] keys;
+
+    @Setup
+    public void setup() {
+        limiter = new LocalRateLimiter(100_000, Duration.ofMinutes(1));
+        rule = new RateLimitProperties.Rule();
+        rule.setId("bench");
+        rule.setPath("/**");
+        rule.setLimit(1_000_000);
+        rule.setPeriod(Duration.ofSeconds(1));
+        keys = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            keys[i] = "bench:ip:10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+
+    @Benchmark
+    public RateLimiter.Decision sharedBucket() {
+        return limiter.tryAcquire("bench", rule);
+    }
+
+    @Benchmark
+    public RateLimiter.Decision perClientBuckets() {
+        return limiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(CLIENTS)], rule);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RateLimiterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
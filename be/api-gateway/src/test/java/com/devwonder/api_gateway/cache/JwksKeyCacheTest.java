@@ -0,0 +1,102 @@
+package com.devwonder.api_gateway.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.math.BigInteger;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class JwksKeyCacheTest {
+
+    private static final String URI = "http://auth-service:8084/api/auth/.well-known/jwks.json";
+
+    private MockRestServiceServer server;
+    private JwksKeyCache keyCache;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder();
+        server = MockRestServiceServer.bindTo(builder).build();
+        keyCache = new JwksKeyCache(builder.build(), URI, 30_000);
+    }
+
+    @Test
+    void rotatedKeyPublishedAheadOfUseNeedsNoFetch() throws Exception {
+        RSAPublicKey active = rsaKey();
+        RSAPublicKey pending = rsaKey();
+        server.expect(once(), requestTo(URI))
+            .andRespond(withSuccess(jwks(jwk("active", active), jwk("pending", pending)), MediaType.APPLICATION_JSON));
+
+        keyCache.warmUp();
+
+        // auth-service switches to the pending key later; the gateway already has it
+        assertThat(keyCache.get("active")).isEqualTo(active);
+        assertThat(keyCache.get("pending")).isEqualTo(pending);
+        server.verify();
+    }
+
+    @Test
+    void unknownKidFetchesAtMostOncePerInterval() throws Exception {
+        RSAPublicKey rotated = rsaKey();
+        server.expect(once(), requestTo(URI))
+            .andRespond(withSuccess(jwks(jwk("rotated", rotated)), MediaType.APPLICATION_JSON));
+
+        assertThat(keyCache.get("rotated")).isEqualTo(rotated);
+        // Forged or stale kids must not turn into one auth-service call per request
+        assertThat(keyCache.get("unknown")).isNull();
+        assertThat(keyCache.get(null)).isNull();
+        server.verify();
+    }
+
+    @Test
+    void failedFetchKeepsTheLastKeySet() throws Exception {
+        RSAPublicKey active = rsaKey();
+        server.expect(requestTo(URI))
+            .andRespond(withSuccess(jwks(jwk("active", active)), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(URI))
+            .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+
+        keyCache.warmUp();
+        Thread.sleep(1_100); // past the back-to-back fetch guard
+        keyCache.refresh();
+
+        assertThat(keyCache.get("active")).isEqualTo(active);
+        server.verify();
+    }
+
+    private static RSAPublicKey rsaKey() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(1024);
+        return (RSAPublicKey) generator.generateKeyPair().getPublic();
+    }
+
+    private static String jwks(String... keys) {
+        return "{\"keys\":[" + String.join(",", keys) + "]}";
+    }
+
+    private static String jwk(String kid, RSAPublicKey key) {
+        return "{\"kty\":\"RSA\",\"use\":\"sig\",\"alg\":\"RS256\",\"kid\":\"" + kid + "\",\"n\":\""
+            + base64Url(key.getModulus()) + "\",\"e\":\"" + base64Url(key.getPublicExponent()) + "\"}";
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
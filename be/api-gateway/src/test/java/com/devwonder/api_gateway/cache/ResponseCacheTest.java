@@ -0,0 +1,197 @@
+package com.devwonder.api_gateway.cache;
+
+import com.devwonder.api_gateway.config.ResponseCacheProperties;
+import com.devwonder.api_gateway.filter.ResponseCacheFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResponseCacheProperties properties = properties();
+    private final ResponseCache cache = new ResponseCache(properties, meterRegistry, clock::get);
+    private final ResponseCacheFilter filter = new ResponseCacheFilter(cache, properties);
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @Test
+    void servesRepeatedRequestsFromCacheUntilMaxAge() throws Exception {
+        FilterChain upstream = upstream("public, max-age=60", "\"v1\"", "[\"phone\"]");
+
+        assertThat(get("/api/products", upstream).getHeader("X-Cache")).isEqualTo("MISS");
+        MockHttpServletResponse hit = get("/api/products", upstream);
+
+        assertThat(hit.getHeader("X-Cache")).isEqualTo("HIT");
+        assertThat(hit.getContentAsString()).isEqualTo("[\"phone\"]");
+        assertThat(hit.getHeader(HttpHeaders.ETAG)).isEqualTo("\"v1\"");
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(meterRegistry.get("gateway.response-cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    void keysOnQueryAndAcceptLanguage() throws Exception {
+        FilterChain upstream = upstream("max-age=60", null, "[]");
+
+        get("/api/faqs", upstream);
+        get("/api/faqs?page=2", upstream);
+        MockHttpServletRequest vietnamese = request("/api/faqs");
+        vietnamese.addHeader(HttpHeaders.ACCEPT_LANGUAGE, "vi");
+        filter.doFilter(vietnamese, new MockHttpServletResponse(), upstream);
+
+        assertThat(upstreamCalls).hasValue(3);
+    }
+
+    @Test
+    void revalidatesStaleEntryWithIfNoneMatch() throws Exception {
+        FilterChain upstream = upstream("max-age=60", "\"v1\"", "[\"phone\"]");
+        get("/api/products", upstream);
+        clock.addAndGet(Duration.ofSeconds(61).toMillis());
+
+        MockHttpServletResponse revalidated = get("/api/products", upstream);
+
+        assertThat(revalidated.getHeader("X-Cache")).isEqualTo("REVALIDATED");
+        assertThat(revalidated.getStatus()).isEqualTo(200);
+        assertThat(revalidated.getContentAsString()).isEqualTo("[\"phone\"]");
+        assertThat(get("/api/products", upstream).getHeader("X-Cache")).isEqualTo("HIT");
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void answersClientValidatorsWithNotModified() throws Exception {
+        FilterChain upstream = upstream("max-age=60", "\"v1\"", "[\"phone\"]");
+        get("/api/products", upstream);
+
+        MockHttpServletRequest conditional = request("/api/products");
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"v1\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(conditional, response, upstream);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void doesNotStorePrivateOrAuthenticatedResponses() throws Exception {
+        FilterChain privateUpstream = upstream("private, max-age=60", null, "{}");
+        get("/api/products/1", privateUpstream);
+        get("/api/products/1", privateUpstream);
+
+        FilterChain publicUpstream = upstream("max-age=60", null, "{}");
+        MockHttpServletRequest authenticated = request("/api/products/2");
+        authenticated.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+        filter.doFilter(authenticated, new MockHttpServletResponse(), publicUpstream);
+        get("/api/products/2", publicUpstream);
+
+        assertThat(upstreamCalls).hasValue(4);
+    }
+
+    @Test
+    void concurrentMissesShareOneUpstreamCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slowUpstream = (request, response) -> {
+            upstreamCalls.incrementAndGet();
+            await(release);
+            respond((HttpServletResponse) response, "max-age=60", null, "[\"blog\"]");
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                responses.add(executor.submit(() -> get("/api/blogs", slowUpstream)));
+            }
+            // Let every request reach the cache before the upstream answers
+            Thread.sleep(200);
+            release.countDown();
+
+            for (Future<MockHttpServletResponse> response : responses) {
+                assertThat(response.get(5, TimeUnit.SECONDS).getContentAsString()).isEqualTo("[\"blog\"]");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(upstreamCalls).hasValue(1);
+    }
+
+    private MockHttpServletResponse get(String uri, FilterChain upstream) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(uri), response, upstream);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        int query = uri.indexOf('?');
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", query < 0 ? uri : uri.substring(0, query));
+        if (query >= 0) {
+            request.setQueryString(uri.substring(query + 1));
+        }
+        return request;
+    }
+
+    // Answers 304 when the gateway's If-None-Match matches the current ETag
+    private FilterChain upstream(String cacheControl, String etag, String body) {
+        return (request, response) -> {
+            upstreamCalls.incrementAndGet();
+            String ifNoneMatch = ((HttpServletRequest) request).getHeader(HttpHeaders.IF_NONE_MATCH);
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            if (etag != null && etag.equals(ifNoneMatch)) {
+                httpResponse.setStatus(304);
+                httpResponse.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+                httpResponse.setHeader(HttpHeaders.ETAG, etag);
+                return;
+            }
+            respond(httpResponse, cacheControl, etag, body);
+        };
+    }
+
+    private static void respond(HttpServletResponse response, String cacheControl, String etag, String body)
+            throws IOException {
+        response.setStatus(200);
+        response.setContentType("application/json");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        if (etag != null) {
+            response.setHeader(HttpHeaders.ETAG, etag);
+        }
+        response.getWriter().write(body);
+        response.getWriter().flush();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ResponseCacheProperties properties() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        for (String path : List.of("/api/products/**", "/api/blogs/**", "/api/faqs/**")) {
+            ResponseCacheProperties.Rule rule = new ResponseCacheProperties.Rule();
+            rule.setPath(path);
+            properties.getRules().add(rule);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,87 @@
+package com.devwonder.api_gateway.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class RevocationListTest {
+
+    private static final String URI = "http://auth-service:8084/internal/revocations";
+
+    private MockRestServiceServer server;
+    private RevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder();
+        server = MockRestServiceServer.bindTo(builder).build();
+        revocationList = new RevocationList(builder.build(), URI, 10_000, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void syncedJtiIsRevokedAndOthersAreNot() {
+        long future = System.currentTimeMillis() + 60_000;
+        server.expect(requestTo(URI + "?since=0"))
+            .andRespond(withSuccess("[{\"jti\":\"jti-1\",\"expiresAt\":" + future + "}]", MediaType.APPLICATION_JSON));
+
+        revocationList.sync();
+
+        assertThat(revocationList.isRevoked("jti-1")).isTrue();
+        assertThat(revocationList.isRevoked("jti-2")).isFalse();
+        assertThat(revocationList.isRevoked(null)).isFalse();
+        server.verify();
+    }
+
+    @Test
+    void laterSyncsAskOnlyForTheOverlappingWindowAndKeepEarlierEntries() {
+        long future = System.currentTimeMillis() + 60_000;
+        server.expect(requestTo(URI + "?since=0"))
+            .andRespond(withSuccess("[{\"jti\":\"jti-1\",\"expiresAt\":" + future + "}]", MediaType.APPLICATION_JSON));
+        server.expect(request -> assertThat(request.getURI().getQuery()).matches("since=\\d+").isNotEqualTo("since=0"))
+            .andRespond(withSuccess("[{\"jti\":\"jti-2\",\"expiresAt\":" + future + "}]", MediaType.APPLICATION_JSON));
+
+        revocationList.sync();
+        revocationList.sync();
+
+        assertThat(revocationList.isRevoked("jti-1")).isTrue();
+        assertThat(revocationList.isRevoked("jti-2")).isTrue();
+        server.verify();
+    }
+
+    @Test
+    void failedSyncKeepsWhatWasAlreadyMirrored() {
+        long future = System.currentTimeMillis() + 60_000;
+        server.expect(requestTo(URI + "?since=0"))
+            .andRespond(withSuccess("[{\"jti\":\"jti-1\",\"expiresAt\":" + future + "}]", MediaType.APPLICATION_JSON));
+        server.expect(request -> { })
+            .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+
+        revocationList.sync();
+        revocationList.sync();
+
+        assertThat(revocationList.isRevoked("jti-1")).isTrue();
+    }
+
+    @Test
+    void pruneForgetsExpiredTokensOnly() {
+        long now = System.currentTimeMillis();
+        server.expect(requestTo(URI + "?since=0"))
+            .andRespond(withSuccess("[{\"jti\":\"expired\",\"expiresAt\":" + (now - 1_000) + "},"
+                + "{\"jti\":\"live\",\"expiresAt\":" + (now + 60_000) + "}]", MediaType.APPLICATION_JSON));
+
+        revocationList.sync();
+        revocationList.prune();
+
+        assertThat(revocationList.isRevoked("expired")).isFalse();
+        assertThat(revocationList.isRevoked("live")).isTrue();
+    }
+}
@@ -0,0 +1,87 @@
+package com.devwonder.api_gateway.filter;
+
+import com.devwonder.api_gateway.cache.RevocationList;
+import com.devwonder.api_gateway.cache.VerifiedTokenCache;
+import com.devwonder.api_gateway.util.JwtPrincipal;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JwtGlobalFilterTest {
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private RevocationList revocationList;
+
+    @InjectMocks
+    private JwtGlobalFilter filter;
+
+    private final JwtPrincipal principal =
+        new JwtPrincipal("dealer01", "DEALER", "42", "jti-1", Instant.now().plusSeconds(600));
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatesValidUnrevokedToken() throws Exception {
+        when(verifiedTokenCache.get("token")).thenReturn(principal);
+        when(revocationList.isRevoked("jti-1")).thenReturn(false);
+
+        Authentication authentication = run("Bearer token");
+
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getName()).isEqualTo("dealer01");
+        assertThat(authentication.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_DEALER");
+    }
+
+    @Test
+    void revokedTokenLeavesRequestAnonymous() throws Exception {
+        when(verifiedTokenCache.get("token")).thenReturn(principal);
+        when(revocationList.isRevoked("jti-1")).thenReturn(true);
+
+        assertThat(run("Bearer token")).isNull();
+    }
+
+    @Test
+    void invalidTokenLeavesRequestAnonymous() throws Exception {
+        when(verifiedTokenCache.get("token")).thenReturn(null);
+
+        assertThat(run("Bearer token")).isNull();
+    }
+
+    // Returns the authentication the downstream chain saw
+    private Authentication run(String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.addHeader("Authorization", authorization);
+        Authentication[] seen = new Authentication[1];
+        MockFilterChain chain = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                seen[0] = SecurityContextHolder.getContext().getAuthentication();
+            }
+        };
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return seen[0];
+    }
+}
@@ -0,0 +1,69 @@
+package com.devwonder.api_gateway.filter;
+
+import com.devwonder.api_gateway.config.RateLimitProperties;
+import com.devwonder.api_gateway.ratelimit.LocalRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(
+            rule("auth-login-ip", "/api/auth/login", 1),
+            rule("api-user", "/api/**", 3)));
+        filter = new RateLimitFilter(new LocalRateLimiter(1000, Duration.ofMinutes(1)), properties, meterRegistry);
+    }
+
+    @Test
+    void requestRejectedByANarrowRuleDoesNotSpendTheBroadBucket() throws Exception {
+        assertThat(status("POST", "/api/auth/login")).isEqualTo(200);
+        for (int i = 0; i < 5; i++) {
+            assertThat(status("POST", "/api/auth/login")).isEqualTo(429);
+        }
+
+        // One of three api-user tokens was spent, by the only login that was served
+        assertThat(status("GET", "/api/products")).isEqualTo(200);
+        assertThat(status("GET", "/api/products")).isEqualTo(200);
+        assertThat(status("GET", "/api/products")).isEqualTo(429);
+
+        assertThat(count("api-user", "allowed")).isEqualTo(3);
+        assertThat(count("auth-login-ip", "rejected")).isEqualTo(5);
+    }
+
+    private int status(String method, String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr("203.0.113.7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+    private double count(String rule, String result) {
+        return meterRegistry.get("gateway.ratelimit.requests").tag("rule", rule).tag("result", result).counter().count();
+    }
+
+    private static RateLimitProperties.Rule rule(String id, String path, long burst) {
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setId(id);
+        rule.setPath(path);
+        rule.setLimit(1);
+        rule.setPeriod(Duration.ofMinutes(1));
+        rule.setBurst(burst);
+        return rule;
+    }
+}
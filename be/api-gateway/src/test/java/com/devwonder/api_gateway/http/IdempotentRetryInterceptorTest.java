@@ -0,0 +1,109 @@
+package com.devwonder.api_gateway.http;
+
+import com.devwonder.api_gateway.config.UpstreamProperties;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * h2c upstreams go through the JDK client, which has no retry strategy of its
+ * own; they must get the same idempotent retries as the pooled clients.
+ */
+class IdempotentRetryInterceptorTest {
+
+    private final AtomicInteger unavailableResponses = new AtomicInteger();
+    private final List<String> received = new CopyOnWriteArrayList<>();
+
+    private HttpServer server;
+    private UpstreamClientHttpRequestFactory factory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            received.add(exchange.getRequestMethod() + " "
+                    + new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            int status = unavailableResponses.getAndDecrement() > 0 ? 503 : 200;
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+
+        UpstreamProperties.Upstream upstream = new UpstreamProperties.Upstream();
+        upstream.setUri("http://localhost:" + server.getAddress().getPort());
+        upstream.setProtocol(UpstreamProperties.Protocol.H2C);
+        upstream.setRetries(2);
+        upstream.setRetryInterval(Duration.ofMillis(1));
+        upstream.getCircuitBreaker().setEnabled(false);
+        UpstreamProperties properties = new UpstreamProperties();
+        properties.getUpstreams().put("product-service", upstream);
+        factory = new UpstreamClientHttpRequestFactory(properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        factory.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    void retriesIdempotentRequestsAfterUnavailable() throws IOException {
+        unavailableResponses.set(2);
+
+        try (ClientHttpResponse response = execute(HttpMethod.PUT, "{\"name\":\"Speaker\"}")) {
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+
+        // The body is replayed on every attempt
+        assertThat(received).containsExactly("PUT {\"name\":\"Speaker\"}", "PUT {\"name\":\"Speaker\"}",
+                "PUT {\"name\":\"Speaker\"}");
+    }
+
+    @Test
+    void givesUpAfterTheConfiguredRetries() throws IOException {
+        unavailableResponses.set(5);
+
+        try (ClientHttpResponse response = execute(HttpMethod.GET, "")) {
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        assertThat(received).hasSize(3);
+    }
+
+    @Test
+    void neverRetriesNonIdempotentRequests() throws IOException {
+        unavailableResponses.set(1);
+
+        try (ClientHttpResponse response = execute(HttpMethod.POST, "order")) {
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        assertThat(received).containsExactly("POST order");
+    }
+
+    private ClientHttpResponse execute(HttpMethod method, String body) throws IOException {
+        URI uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/api/products/1");
+        ClientHttpRequest request = factory.createRequest(uri, method);
+        if (!body.isEmpty()) {
+            request.getBody().write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return request.execute();
+    }
+}
@@ -0,0 +1,147 @@
+package com.devwonder.api_gateway.http;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class UpstreamGuardTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final Bulkhead bulkhead = Bulkhead.of("auth-service", BulkheadConfig.custom()
+            .maxConcurrentCalls(2)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+
+    private final CircuitBreaker circuitBreaker = CircuitBreaker.of("auth-service", CircuitBreakerConfig.custom()
+            .slidingWindowSize(4)
+            .minimumNumberOfCalls(4)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofSeconds(30))
+            .build());
+
+    private final UpstreamGuard guard = new UpstreamGuard("auth-service", bulkhead, circuitBreaker,
+            Duration.ofSeconds(30), meterRegistry);
+
+    @Test
+    void opensOnFailuresAndThenFailsFastWithoutCallingUpstream() throws IOException {
+        ClientHttpRequest timingOut = mock(ClientHttpRequest.class);
+        when(timingOut.execute()).thenThrow(new SocketTimeoutException("Read timed out"));
+        ClientHttpRequest badGateway = request(HttpStatus.BAD_GATEWAY);
+
+        assertThatThrownBy(() -> guard.execute(timingOut)).isInstanceOf(SocketTimeoutException.class);
+        assertThatThrownBy(() -> guard.execute(timingOut)).isInstanceOf(SocketTimeoutException.class);
+        guard.execute(badGateway).close();
+        guard.execute(request(HttpStatus.OK)).close();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        ClientHttpRequest next = request(HttpStatus.OK);
+        ClientHttpResponse response = guard.execute(next);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+        verify(next, never()).execute();
+        assertThat(rejections("circuit_open")).isEqualTo(1);
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(2);
+    }
+
+    @Test
+    void clientErrorsDoNotCountAsFailures() throws IOException {
+        for (int i = 0; i < 4; i++) {
+            guard.execute(request(HttpStatus.NOT_FOUND)).close();
+        }
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void rejectsWhenBulkheadIsFull() throws IOException {
+        // Two calls already in flight
+        bulkhead.tryAcquirePermission();
+        bulkhead.tryAcquirePermission();
+
+        ClientHttpRequest request = request(HttpStatus.OK);
+        ClientHttpResponse response = guard.execute(request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        verify(request, never()).execute();
+        assertThat(rejections("bulkhead")).isEqualTo(1);
+
+        bulkhead.onComplete();
+        assertThat(guard.execute(request).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void holdsThePermitUntilTheResponseIsClosed() throws IOException {
+        ClientHttpResponse first = guard.execute(request(HttpStatus.OK));
+        ClientHttpResponse second = guard.execute(request(HttpStatus.OK));
+
+        // Both bodies are still streaming
+        assertThat(guard.execute(request(HttpStatus.OK)).getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(circuitBreaker.getMetrics().getNumberOfBufferedCalls()).isZero();
+
+        first.close();
+        first.close();
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+        assertThat(circuitBreaker.getMetrics().getNumberOfSuccessfulCalls()).isEqualTo(1);
+
+        second.close();
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(2);
+    }
+
+    @Test
+    void recordsSlowBodyAndBodyErrorsAtClose() throws Exception {
+        CircuitBreaker slowBreaker = CircuitBreaker.of("auth-service", CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .slowCallDurationThreshold(Duration.ofMillis(50))
+                .build());
+        UpstreamGuard slowGuard = new UpstreamGuard("auth-service", bulkhead, slowBreaker,
+                Duration.ofSeconds(30), meterRegistry);
+
+        ClientHttpResponse slow = slowGuard.execute(request(HttpStatus.OK));
+        Thread.sleep(100);
+        slow.close();
+
+        ClientHttpRequest broken = request(HttpStatus.OK);
+        when(broken.execute().getBody()).thenReturn(new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new SocketTimeoutException("Read timed out");
+            }
+        });
+        ClientHttpResponse truncated = slowGuard.execute(broken);
+        assertThatThrownBy(() -> truncated.getBody().readAllBytes()).isInstanceOf(SocketTimeoutException.class);
+        truncated.close();
+
+        assertThat(slowBreaker.getMetrics().getNumberOfSlowSuccessfulCalls()).isEqualTo(1);
+        assertThat(slowBreaker.getMetrics().getNumberOfFailedCalls()).isEqualTo(1);
+    }
+
+    private double rejections(String reason) {
+        return meterRegistry.get("gateway.upstream.rejected").tag("reason", reason).counter().count();
+    }
+
+    private static ClientHttpRequest request(HttpStatus status) throws IOException {
+        ClientHttpResponse response = mock(ClientHttpResponse.class);
+        when(response.getStatusCode()).thenReturn(status);
+        ClientHttpRequest request = mock(ClientHttpRequest.class);
+        when(request.execute()).thenReturn(response);
+        return request;
+    }
+}
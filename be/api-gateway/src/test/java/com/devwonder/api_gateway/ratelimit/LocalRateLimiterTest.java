@@ -0,0 +1,63 @@
+package com.devwonder.api_gateway.ratelimit;
+
+import com.devwonder.api_gateway.config.RateLimitProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final LocalRateLimiter limiter = new LocalRateLimiter(1000, Duration.ofMinutes(1), clock::get);
+
+    @Test
+    void admitsBurstThenRefillsAtConfiguredRate() {
+        RateLimitProperties.Rule rule = rule(10, Duration.ofSeconds(1), 3);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("k", rule).allowed()).isTrue();
+        }
+        RateLimiter.Decision rejected = limiter.tryAcquire("k", rule);
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryAfterMillis()).isBetween(1L, 101L);
+
+        // One token every 100 ms
+        clock.addAndGet(Duration.ofMillis(100).toNanos());
+        assertThat(limiter.tryAcquire("k", rule).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("k", rule).allowed()).isFalse();
+    }
+
+    @Test
+    void bucketsAreIndependentPerKey() {
+        RateLimitProperties.Rule rule = rule(1, Duration.ofMinutes(1), 1);
+
+        assertThat(limiter.tryAcquire("a", rule).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("a", rule).allowed()).isFalse();
+        assertThat(limiter.tryAcquire("b", rule).allowed()).isTrue();
+    }
+
+    @Test
+    void releaseGivesTheTokenBack() {
+        RateLimitProperties.Rule rule = rule(1, Duration.ofMinutes(1), 2);
+
+        assertThat(limiter.tryAcquire("k", rule).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("k", rule).allowed()).isTrue();
+        limiter.release("k", rule);
+
+        assertThat(limiter.tryAcquire("k", rule).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("k", rule).allowed()).isFalse();
+    }
+
+    private static RateLimitProperties.Rule rule(long limit, Duration period, long burst) {
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setId("test");
+        rule.setPath("/**");
+        rule.setLimit(limit);
+        rule.setPeriod(period);
+        rule.setBurst(burst);
+        return rule;
+    }
+}
@@ -0,0 +1,67 @@
+package com.devwonder.auth_service.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncConfig.class);
+
+    @Value("${auth.import.hashing-parallelism:0}") // 0 = half the available cores
+    private int importHashingParallelism;
+
+    /**
+     * Runs size-triggered last-login flushes. A single thread is enough since
+     * flushes are serialized anyway; at most one flush is ever queued.
+     */
+    @Bean(name = "lastLoginTaskExecutor")
+    public Executor lastLoginTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("LastLogin-");
+        
+        // Never push the flush back onto the login thread
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        
+        log.info("Last login task executor initialized with core pool size: {}, max pool size: {}",
+                executor.getCorePoolSize(), executor.getMaxPoolSize());
+        
+        return executor;
+    }
+
+    /**
+     * Hashes passwords for bulk imports. Each thread blocks on one hash on the
+     * shared hashing pool, so this caps how much of that pool an import can take
+     * and leaves the rest for logins.
+     */
+    @Bean(name = "userImportTaskExecutor")
+    public Executor userImportTaskExecutor() {
+        int threads = importHashingParallelism > 0
+            ? importHashingParallelism
+            : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("UserImport-");
+        executor.initialize();
+        
+        log.info("User import task executor initialized with pool size: {}", threads);
+        
+        return executor;
+    }
+}
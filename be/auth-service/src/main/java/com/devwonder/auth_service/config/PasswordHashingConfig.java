@@ -0,0 +1,107 @@
+package com.devwonder.auth_service.config;
+
+import com.devwonder.auth_service.util.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class PasswordHashingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingConfig.class);
+
+    @Value("${auth.password-hashing.pool-size:0}") // 0 = one thread per available core
+    private int poolSize;
+
+    @Value("${auth.password-hashing.queue-capacity:0}") // 0 = four slots per thread
+    private int queueCapacity;
+
+    @Value("${auth.password-hashing.timeout:5000}")
+    private long timeout;
+
+    // Scheme used for new hashes: bcrypt or argon2
+    @Value("${auth.password-hashing.scheme:bcrypt}")
+    private String scheme;
+
+    @Value("${auth.password-hashing.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    @Value("${auth.password-hashing.argon2.salt-length:16}")
+    private int argon2SaltLength;
+
+    @Value("${auth.password-hashing.argon2.hash-length:32}")
+    private int argon2HashLength;
+
+    @Value("${auth.password-hashing.argon2.parallelism:1}")
+    private int argon2Parallelism;
+
+    @Value("${auth.password-hashing.argon2.memory-kib:19456}")
+    private int argon2MemoryKib;
+
+    @Value("${auth.password-hashing.argon2.iterations:2}")
+    private int argon2Iterations;
+
+    /**
+     * Hashes new passwords with the configured scheme and cost, and still verifies
+     * every older format, including the unprefixed BCrypt hashes stored before
+     * scheme ids were introduced. {@link PasswordEncoder#upgradeEncoding} reports
+     * hashes that differ from the current setting so they can be re-encoded on login.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(@Qualifier("passwordHashingExecutor") ExecutorService passwordHashingExecutor,
+                                           MeterRegistry meterRegistry) {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptPasswordEncoder(bcryptStrength));
+        encoders.put("argon2", new Argon2PasswordEncoder(
+            argon2SaltLength, argon2HashLength, argon2Parallelism, argon2MemoryKib, argon2Iterations));
+
+        if (!encoders.containsKey(scheme)) {
+            throw new IllegalStateException("Unsupported auth.password-hashing.scheme: " + scheme);
+        }
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(scheme, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+
+        log.info("Password encoder initialized with scheme: {}", scheme);
+
+        // Hashing runs on its own bounded pool so login load cannot starve request threads
+        return new BoundedPasswordEncoder(delegating, passwordHashingExecutor, timeout, meterRegistry);
+    }
+
+    @Bean(name = "passwordHashingExecutor", destroyMethod = "shutdown")
+    public ExecutorService passwordHashingExecutor(MeterRegistry meterRegistry) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        int capacity = queueCapacity > 0 ? queueCapacity : threads * 4;
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            threads, threads,
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(capacity),
+            new CustomizableThreadFactory("PasswordHash-"),
+            // Reject instead of running on the caller, which would defeat the bound
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        log.info("Password hashing executor initialized with pool size: {}, queue capacity: {}", threads, capacity);
+
+        // Publishes executor.queued, executor.active, executor.completed, ...
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "passwordHashing");
+    }
+}
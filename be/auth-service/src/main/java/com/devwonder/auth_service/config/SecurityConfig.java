@@ -1,29 +1,34 @@
 package com.devwonder.auth_service.config;
 
 import com.devwonder.auth_service.service.UserDetailsServiceImpl;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    public static final String INTERNAL_TOKEN_HEADER = "X-Internal-Token";
+
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
+    // Shared secret for /internal/users/**; while empty every call is refused
+    @Value("${auth.internal.token:}")
+    private String internalToken;
 
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
@@ -35,10 +40,19 @@ public class SecurityConfig {
         http.csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
-                // All endpoints are now public since API Gateway handles authentication
+                // Bulk import creates accounts; a caller inside the cluster is not enough
+                .requestMatchers("/internal/users/**")
+                    .access((authentication, context) -> new AuthorizationDecision(hasInternalToken(context.getRequest())))
+                // All other endpoints are public since API Gateway handles authentication
                 .anyRequest().permitAll()
             );
 
         return http.build();
     }
+
+    private boolean hasInternalToken(HttpServletRequest request) {
+        String presented = request.getHeader(INTERNAL_TOKEN_HEADER);
+        return !internalToken.isEmpty() && presented != null
+            && MessageDigest.isEqual(presented.getBytes(StandardCharsets.UTF_8), internalToken.getBytes(StandardCharsets.UTF_8));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.devwonder.auth_service.config;
+
+import com.devwonder.auth_service.service.UserCacheService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Subscribes to user-cache evictions broadcast by other replicas. Only active
+ * when the shared Redis tier is enabled.
+ */
+@Configuration
+@ConditionalOnProperty(name = "auth.user-cache.redis.enabled", havingValue = "true")
+public class UserCacheRedisConfig {
+
+    @Bean
+    public RedisMessageListenerContainer userCacheEvictionListener(RedisConnectionFactory connectionFactory,
+                                                                   UserCacheService userCacheService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(userCacheService, new ChannelTopic(UserCacheService.EVICTION_CHANNEL));
+        return container;
+    }
+}
@@ -0,0 +1,61 @@
+package com.devwonder.auth_service.config;
+
+import com.devwonder.auth_service.entity.User;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves users.id from an IDENTITY column to the pooled users_seq sequence.
+ *
+ * Runs once Hibernate has applied the schema update and before the web server
+ * accepts requests. Under an advisory lock it drops the identity, makes
+ * users_seq the column default (for ad-hoc inserts) and, if the sequence is
+ * behind the existing rows, moves it past them. Every step is a no-op on an
+ * already migrated database, so replicas can run it on each start.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class UserIdSequenceMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(UserIdSequenceMigration.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PostConstruct
+    void migrate() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            return;
+        }
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(hashtext('" + User.ID_SEQUENCE + "'))", Object.class);
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + User.ID_SEQUENCE
+                + " INCREMENT BY " + User.ID_ALLOCATION_SIZE);
+            jdbcTemplate.execute("ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS");
+            jdbcTemplate.execute("ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('" + User.ID_SEQUENCE + "')");
+
+            // Ids handed out from the sequence never exceed its last value, so this
+            // only fires for rows inserted before the migration
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM users", Long.class);
+            Long lastValue = jdbcTemplate.queryForObject("SELECT last_value FROM " + User.ID_SEQUENCE, Long.class);
+            if (lastValue < maxId) {
+                jdbcTemplate.queryForObject("SELECT setval('" + User.ID_SEQUENCE + "', ?)", Long.class,
+                    maxId + User.ID_ALLOCATION_SIZE);
+                log.info("Moved {} past existing user ids (max id: {})", User.ID_SEQUENCE, maxId);
+            }
+        });
+    }
+}
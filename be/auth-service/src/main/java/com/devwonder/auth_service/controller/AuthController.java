@@ -33,8 +33,9 @@ public class AuthController {
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<String> logout(@RequestHeader("Authorization") String token) {
-        authService.logout(token);
+    public ResponseEntity<String> logout(@RequestHeader("Authorization") String token,
+                                         @RequestBody(required = false) RefreshTokenRequest refreshRequest) {
+        authService.logout(token, refreshRequest != null ? refreshRequest.getRefreshToken() : null);
         return ResponseEntity.ok("Logged out successfully");
     }
 
@@ -0,0 +1,29 @@
+package com.devwonder.auth_service.controller;
+
+import com.devwonder.auth_service.dto.RevocationEntry;
+import com.devwonder.auth_service.service.TokenRevocationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Revocation feed polled by the api-gateway replicas. Lives outside /api/auth
+ * so it is reachable inside the cluster only and never routed by the gateway.
+ */
+@RestController
+@RequestMapping("/internal/revocations")
+public class RevocationController {
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @GetMapping
+    public ResponseEntity<List<RevocationEntry>> revokedSince(@RequestParam(defaultValue = "0") long since) {
+        return ResponseEntity.ok(tokenRevocationService.findRevokedSince(since));
+    }
+}
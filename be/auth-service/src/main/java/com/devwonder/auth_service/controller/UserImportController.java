@@ -0,0 +1,36 @@
+package com.devwonder.auth_service.controller;
+
+import com.devwonder.auth_service.config.SecurityConfig;
+import com.devwonder.auth_service.dto.UserImportResult;
+import com.devwonder.auth_service.service.UserImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * Bulk account import for migrations. Like the revocation feed it lives under
+ * /internal, so it is never routed by the gateway; callers must also send the
+ * {@code auth.internal.token} secret in {@value SecurityConfig#INTERNAL_TOKEN_HEADER}.
+ */
+@RestController
+@RequestMapping("/internal/users")
+public class UserImportController {
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<UserImportResult> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                        HttpServletRequest request) throws IOException {
+        UserImportService.Format format = contentType.startsWith("text/csv")
+            ? UserImportService.Format.CSV
+            : UserImportService.Format.NDJSON;
+        // Read straight from the request stream so large files are never buffered whole
+        UserImportResult result = userImportService.importUsers(request.getInputStream(), format);
+        return ResponseEntity.ok(result);
+    }
+}
@@ -19,6 +19,13 @@ public class AuthResponse {
         this.user = new UserInfo(user);
     }
 
+    public AuthResponse(String accessToken, String refreshToken, Long expiresIn, UserInfo user) {
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
+        this.user = user;
+    }
+
     public String getAccessToken() {
         return accessToken;
     }
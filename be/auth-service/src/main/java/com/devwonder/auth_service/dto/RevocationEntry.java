@@ -0,0 +1,34 @@
+package com.devwonder.auth_service.dto;
+
+/**
+ * A revoked token id and the epoch millis at which the token would have expired
+ * anyway, after which the entry can be forgotten.
+ */
+public class RevocationEntry {
+
+    private String jti;
+    private long expiresAt;
+
+    public RevocationEntry() {}
+
+    public RevocationEntry(String jti, long expiresAt) {
+        this.jti = jti;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public void setJti(String jti) {
+        this.jti = jti;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
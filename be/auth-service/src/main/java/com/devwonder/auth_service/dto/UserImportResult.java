@@ -0,0 +1,85 @@
+package com.devwonder.auth_service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class UserImportResult {
+
+    private int total;
+    private int imported;
+    private int failed;
+    // Capped at auth.import.max-reported-errors; failed is always exact
+    private List<RowError> errors = new ArrayList<>();
+
+    public UserImportResult() {}
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    public static class RowError {
+        private int line;
+        private String username;
+        private String message;
+
+        public RowError() {}
+
+        public RowError(int line, String username, String message) {
+            this.line = line;
+            this.username = username;
+            this.message = message;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public void setLine(int line) {
+            this.line = line;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
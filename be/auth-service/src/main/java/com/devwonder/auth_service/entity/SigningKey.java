@@ -0,0 +1,90 @@
+package com.devwonder.auth_service.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Asymmetric token signing key shared by all auth-service replicas.
+ * A new key is published in the JWKS first and only signs once
+ * {@code activatesAt} has passed; the newest active key signs new tokens.
+ * Older keys stay published until every token they signed has expired.
+ */
+@Entity
+@Table(name = "jwt_signing_keys", indexes = {
+    @Index(name = "idx_signing_key_created_at", columnList = "created_at")
+})
+public class SigningKey {
+
+    @Id
+    @Column(name = "kid", length = 64)
+    private String kid;
+
+    @Column(nullable = false, length = 10)
+    private String algorithm;
+
+    @Column(name = "public_key", nullable = false, columnDefinition = "TEXT")
+    private String publicKey;
+
+    @Column(name = "private_key", nullable = false, columnDefinition = "TEXT")
+    private String privateKey;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Nullable so the column can be added to existing rows, which count as active
+    @Column(name = "activates_at")
+    private LocalDateTime activatesAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
+    // Getters and Setters
+    public String getKid() {
+        return kid;
+    }
+
+    public void setKid(String kid) {
+        this.kid = kid;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public String getPublicKey() {
+        return publicKey;
+    }
+
+    public void setPublicKey(String publicKey) {
+        this.publicKey = publicKey;
+    }
+
+    public String getPrivateKey() {
+        return privateKey;
+    }
+
+    public void setPrivateKey(String privateKey) {
+        this.privateKey = privateKey;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getActivatesAt() {
+        return activatesAt;
+    }
+
+    public void setActivatesAt(LocalDateTime activatesAt) {
+        this.activatesAt = activatesAt;
+    }
+}
@@ -1,8 +1,13 @@
 package com.devwonder.auth_service.exception;
 
+import com.devwonder.auth_service.entity.User;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -11,6 +16,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
 @RestControllerAdvice
@@ -59,6 +65,83 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingRejected(PasswordHashingRejectedException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            ex.getMessage(),
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            LocalDateTime.now(),
+            null
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(errorResponse);
+    }
+
+    @ExceptionHandler(InternalAuthenticationServiceException.class)
+    public ResponseEntity<ErrorResponse> handleInternalAuthenticationService(InternalAuthenticationServiceException ex) {
+        // The user lookup path wraps hashing rejections (timing-attack mitigation hashes too)
+        if (ex.getCause() instanceof PasswordHashingRejectedException rejected) {
+            return handlePasswordHashingRejected(rejected);
+        }
+        return handleRuntimeException(ex);
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        String field = conflictingUserField(ex);
+        String message;
+        if ("username".equals(field)) {
+            message = "Username is already taken";
+        } else if ("email".equals(field)) {
+            message = "Email is already registered";
+        } else {
+            message = "Request conflicts with existing data";
+        }
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            message,
+            HttpStatus.CONFLICT.value(),
+            LocalDateTime.now(),
+            field != null ? Map.of(field, message) : null
+        );
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Names the users column whose unique constraint was violated, or null. Uses
+     * the constraint name when the driver reports it and falls back to the
+     * Postgres detail ("Key (email)=...") for constraints created before they
+     * were named.
+     */
+    public static String conflictingUserField(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                String constraint = violation.getConstraintName().toLowerCase(Locale.ROOT);
+                if (constraint.contains(User.USERNAME_CONSTRAINT)) {
+                    return "username";
+                }
+                if (constraint.contains(User.EMAIL_CONSTRAINT)) {
+                    return "email";
+                }
+            }
+        }
+
+        String detail = ex.getMostSpecificCause().getMessage();
+        if (detail != null) {
+            detail = detail.toLowerCase(Locale.ROOT);
+            if (detail.contains("key (username)")) {
+                return "username";
+            }
+            if (detail.contains("key (email)")) {
+                return "email";
+            }
+        }
+        return null;
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponse> handleRuntimeException(RuntimeException ex) {
         ErrorResponse errorResponse = new ErrorResponse(
@@ -0,0 +1,16 @@
+package com.devwonder.auth_service.exception;
+
+/**
+ * Thrown when the password hashing pool is saturated and a request is shed
+ * instead of queueing behind other logins.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+
+    public PasswordHashingRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,21 @@
+package com.devwonder.auth_service.repository;
+
+import com.devwonder.auth_service.entity.SigningKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SigningKeyRepository extends JpaRepository<SigningKey, String> {
+
+    List<SigningKey> findByCreatedAtAfterOrderByCreatedAtDesc(LocalDateTime createdAfter);
+
+    @Modifying
+    @Query("DELETE FROM SigningKey k WHERE k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,31 @@
+package com.devwonder.auth_service.repository;
+
+import com.devwonder.auth_service.entity.UserSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface UserSessionRepository extends JpaRepository<UserSession, String> {
+
+    // Claims an unused, unexpired session by primary key; 0 rows means unknown, expired or already rotated
+    @Modifying
+    @Query("UPDATE UserSession s SET s.rotatedAt = :now WHERE s.id = :id AND s.rotatedAt IS NULL AND s.expiresAt > :now")
+    int markRotated(@Param("id") String id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM UserSession s WHERE s.familyId = :familyId")
+    int deleteByFamilyId(@Param("familyId") String familyId);
+
+    @Modifying
+    @Query("DELETE FROM UserSession s WHERE s.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM UserSession s WHERE s.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -3,16 +3,21 @@ package com.devwonder.auth_service.service;
 import com.devwonder.auth_service.dto.*;
 import com.devwonder.auth_service.entity.User;
 import com.devwonder.auth_service.repository.UserRepository;
+import com.devwonder.auth_service.util.JwtPrincipal;
 import com.devwonder.auth_service.util.JwtUtil;
+import io.jsonwebtoken.JwtException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Service
@@ -31,8 +36,31 @@ public class AuthService {
     @Autowired
     private AuthenticationManager authenticationManager;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private LastLoginService lastLoginService;
+
+    @Autowired
+    private UserCacheService userCacheService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    // claims: answer /profile from a fresh access token; database: always look the user up
+    @Value("${auth.profile.source:claims}")
+    private String profileSource;
+
+    // Tokens older than this fall back to a lookup; 0 trusts any unexpired token
+    @Value("${auth.profile.claims-max-age:0}")
+    private long profileClaimsMaxAge;
+
+    // No surrounding transaction: the user lookup runs in its own short read-only
+    // transaction, so no pooled connection is held while the password is hashed
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponse login(LoginRequest loginRequest) {
-        // Authenticate user
+        // Authenticate user (loads the user once via UserDetailsServiceImpl)
         Authentication authentication = authenticationManager.authenticate(
             new UsernamePasswordAuthenticationToken(
                 loginRequest.getUsernameOrEmail(),
@@ -40,33 +68,25 @@ public class AuthService {
             )
         );
 
-        // Get user details
-        User user = userRepository.findByUsernameOrEmail(
-            loginRequest.getUsernameOrEmail(),
-            loginRequest.getUsernameOrEmail()
-        ).orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        // Reuse the authenticated entity instead of querying it again
+        User user = (User) authentication.getPrincipal();
 
-        // Update last login
-        userRepository.updateLastLogin(user.getId(), LocalDateTime.now());
+        // Update last login off the response path
+        lastLoginService.recordLogin(user.getId(), LocalDateTime.now());
 
         // Generate tokens
-        String accessToken = jwtUtil.generateToken(user);
-        String refreshToken = jwtUtil.generateRefreshToken(user);
+        AuthResponse.UserInfo userInfo = new AuthResponse.UserInfo(user);
+        String accessToken = jwtUtil.generateToken(userInfo);
+        String refreshToken = refreshTokenService.issue(userInfo);
 
-        return new AuthResponse(accessToken, refreshToken, jwtUtil.getExpirationTime(), user);
+        return new AuthResponse(accessToken, refreshToken, jwtUtil.getExpirationTime(), userInfo);
     }
 
+    // Duplicates are rejected by the unique constraints on username and email in
+    // the single INSERT (mapped to 409 by GlobalExceptionHandler), so there is no
+    // check-then-insert race. Hashing runs before any connection is taken.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponse register(RegisterRequest registerRequest) {
-        // Check if username exists
-        if (userRepository.existsByUsername(registerRequest.getUsername())) {
-            throw new RuntimeException("Username is already taken");
-        }
-
-        // Check if email exists
-        if (userRepository.existsByEmail(registerRequest.getEmail())) {
-            throw new RuntimeException("Email is already registered");
-        }
-
         // Create new user
         User user = new User();
         user.setUsername(registerRequest.getUsername());
@@ -75,46 +95,63 @@ public class AuthService {
         user.setFullName(registerRequest.getFullName());
         user.setRole(User.Role.USER);
 
-        // Save user
-        user = userRepository.save(user);
+        // Save user; flush so a constraint violation surfaces here
+        user = userRepository.saveAndFlush(user);
+        userCacheService.evict(user.getUsername());
 
         // Generate tokens
-        String accessToken = jwtUtil.generateToken(user);
-        String refreshToken = jwtUtil.generateRefreshToken(user);
+        AuthResponse.UserInfo userInfo = new AuthResponse.UserInfo(user);
+        String accessToken = jwtUtil.generateToken(userInfo);
+        String refreshToken = refreshTokenService.issue(userInfo);
 
-        return new AuthResponse(accessToken, refreshToken, jwtUtil.getExpirationTime(), user);
+        return new AuthResponse(accessToken, refreshToken, jwtUtil.getExpirationTime(), userInfo);
     }
 
+    // No surrounding transaction: rotate() commits on its own, so a family revoked
+    // on token reuse stays revoked when the request then fails
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponse refreshToken(String refreshToken) {
-        if (!jwtUtil.validateToken(refreshToken) || !jwtUtil.isRefreshToken(refreshToken)) {
+        JwtPrincipal principal = parseOrNull(refreshToken);
+        if (principal == null || !principal.isRefreshToken()) {
             throw new RuntimeException("Invalid refresh token");
         }
 
-        String username = jwtUtil.extractUsername(refreshToken);
-        User user = userRepository.findByUsername(username)
-            .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        AuthResponse.UserInfo user = userCacheService.getByUsername(principal.username());
 
-        // Generate new tokens
+        // Single use: the presented token is retired and replaced by its successor
+        String newRefreshToken = refreshTokenService.rotate(principal, user)
+            .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
         String newAccessToken = jwtUtil.generateToken(user);
-        String newRefreshToken = jwtUtil.generateRefreshToken(user);
 
         return new AuthResponse(newAccessToken, newRefreshToken, jwtUtil.getExpirationTime(), user);
     }
 
-    public void logout(String authHeader) {
-        // In a real application, you might want to blacklist the token
-        // For now, we'll just validate the token format
+    /**
+     * Revokes the access token and ends the refresh session behind it: the family
+     * of the given refresh token, or every session of the user when none (or one
+     * belonging to someone else) is given.
+     */
+    public void logout(String authHeader, String refreshToken) {
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             throw new RuntimeException("Invalid token format");
         }
         
         String token = authHeader.substring(7);
-        if (!jwtUtil.validateToken(token)) {
+        JwtPrincipal principal = parseOrNull(token);
+        if (principal == null) {
             throw new RuntimeException("Invalid token");
         }
         
-        // Token blacklisting logic would go here
-        // For now, logout is handled client-side by removing the token
+        // Gateways pick the revocation up on their next sync
+        tokenRevocationService.revoke(principal);
+
+        JwtPrincipal refresh = refreshToken != null ? parseOrNull(refreshToken) : null;
+        if (refresh != null && refresh.isRefreshToken() && refresh.sessionFamily() != null
+                && refresh.username().equals(principal.username())) {
+            refreshTokenService.revokeFamily(refresh.sessionFamily());
+        } else if (principal.userId() != null) {
+            refreshTokenService.revokeAll(Long.valueOf(principal.userId()));
+        }
     }
 
     public boolean validateToken(String authHeader) {
@@ -136,14 +173,51 @@ public class AuthService {
         }
 
         String token = authHeader.substring(7);
-        if (!jwtUtil.validateToken(token)) {
+        JwtPrincipal principal = parseOrNull(token);
+        if (principal == null) {
             throw new RuntimeException("Invalid token");
         }
 
-        String username = jwtUtil.extractUsername(token);
-        User user = userRepository.findByUsername(username)
-            .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        if (isProfileFromClaims(principal)) {
+            return toUserInfo(principal);
+        }
+        return userCacheService.getByUsername(principal.username());
+    }
+
+    /**
+     * Claims are trusted when the token is an access token carrying every profile
+     * field, was issued under the current claims version, and is not older than
+     * the configured maximum age.
+     */
+    private boolean isProfileFromClaims(JwtPrincipal principal) {
+        if (!"claims".equalsIgnoreCase(profileSource) || principal.isRefreshToken()) {
+            return false;
+        }
+        if (principal.claimsVersion() == null || principal.claimsVersion() != jwtUtil.getClaimsVersion()) {
+            return false;
+        }
+        if (principal.userId() == null || principal.email() == null || principal.role() == null) {
+            return false;
+        }
+        return profileClaimsMaxAge <= 0 || (principal.issuedAt() != null
+                && principal.issuedAt().plus(Duration.ofMillis(profileClaimsMaxAge)).isAfter(Instant.now()));
+    }
 
-        return new AuthResponse.UserInfo(user);
+    private AuthResponse.UserInfo toUserInfo(JwtPrincipal principal) {
+        AuthResponse.UserInfo userInfo = new AuthResponse.UserInfo();
+        userInfo.setId(Long.valueOf(principal.userId()));
+        userInfo.setUsername(principal.username());
+        userInfo.setEmail(principal.email());
+        userInfo.setFullName(principal.fullName());
+        userInfo.setRole(principal.role());
+        return userInfo;
+    }
+
+    private JwtPrincipal parseOrNull(String token) {
+        try {
+            return jwtUtil.parse(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
     }
 }
\ No newline at end of file
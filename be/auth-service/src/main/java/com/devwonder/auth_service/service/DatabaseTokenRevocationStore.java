@@ -0,0 +1,51 @@
+package com.devwonder.auth_service.service;
+
+import com.devwonder.auth_service.dto.RevocationEntry;
+import com.devwonder.auth_service.entity.RevokedToken;
+import com.devwonder.auth_service.repository.RevokedTokenRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Default store: the revoked_tokens table in the auth database.
+ */
+@Service
+@ConditionalOnProperty(name = "jwt.revocation.store", havingValue = "database", matchIfMissing = true)
+public class DatabaseTokenRevocationStore implements TokenRevocationStore {
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Override
+    @Transactional
+    public void revoke(String jti, Instant expiresAt) {
+        if (!revokedTokenRepository.existsById(jti)) {
+            revokedTokenRepository.save(new RevokedToken(jti, toLocal(expiresAt)));
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RevocationEntry> findRevokedSince(Instant since) {
+        return revokedTokenRepository.findActiveRevokedSince(toLocal(since), LocalDateTime.now()).stream()
+            .map(t -> new RevocationEntry(t.getJti(), t.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()))
+            .toList();
+    }
+
+    @Override
+    @Transactional
+    public void purgeExpired() {
+        revokedTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private static LocalDateTime toLocal(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,116 @@
+package com.devwonder.auth_service.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Write-behind buffer for login times.
+ *
+ * Logins only record the latest timestamp per user id in memory. The buffer is
+ * written as one batched UPDATE every {@code auth.last-login.flush-interval} ms,
+ * or as soon as it holds {@code auth.last-login.flush-size} users, and drained
+ * on shutdown. Repeated logins of the same user between flushes cost one row.
+ */
+@Service
+public class LastLoginService {
+
+    private static final Logger log = LoggerFactory.getLogger(LastLoginService.class);
+
+    private static final String UPDATE_SQL = "UPDATE users SET last_login = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Executor flushExecutor;
+    private final int flushSize;
+    private final Timer flushTimer;
+
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    public LastLoginService(JdbcTemplate jdbcTemplate,
+                            @Qualifier("lastLoginTaskExecutor") Executor flushExecutor,
+                            @Value("${auth.last-login.flush-size:500}") int flushSize,
+                            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushExecutor = flushExecutor;
+        this.flushSize = flushSize;
+        this.flushTimer = Timer.builder("auth.last-login.flush")
+                .description("Time to write buffered last-login timestamps")
+                .register(meterRegistry);
+        Gauge.builder("auth.last-login.pending", pending, Map::size)
+                .description("Users with a buffered last-login timestamp")
+                .register(meterRegistry);
+    }
+
+    public void recordLogin(Long userId, LocalDateTime loginTime) {
+        pending.merge(userId, loginTime, LastLoginService::latest);
+
+        if (pending.size() >= flushSize && flushScheduled.compareAndSet(false, true)) {
+            try {
+                flushExecutor.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                // The scheduled flush will pick the entries up
+                flushScheduled.set(false);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.last-login.flush-interval:1000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+
+    synchronized void flush() {
+        flushScheduled.set(false);
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batch = new ArrayList<>(pending.size());
+        for (Long userId : List.copyOf(pending.keySet())) {
+            LocalDateTime loginTime = pending.remove(userId);
+            if (loginTime != null) {
+                batch.add(new Object[]{Timestamp.valueOf(loginTime), userId});
+            }
+        }
+
+        try {
+            flushTimer.record(() -> jdbcTemplate.batchUpdate(UPDATE_SQL, batch));
+            log.debug("Flushed {} last-login timestamp(s)", batch.size());
+        } catch (RuntimeException e) {
+            // Put the entries back unless a newer login arrived meanwhile
+            for (Object[] row : batch) {
+                LocalDateTime loginTime = ((Timestamp) row[0]).toLocalDateTime();
+                pending.merge((Long) row[1], loginTime, LastLoginService::latest);
+            }
+            log.warn("Failed to flush {} last-login timestamp(s): {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return b.isAfter(a) ? b : a;
+    }
+}
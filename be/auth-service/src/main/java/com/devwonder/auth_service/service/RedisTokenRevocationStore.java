@@ -0,0 +1,62 @@
+package com.devwonder.auth_service.service;
+
+import com.devwonder.auth_service.dto.RevocationEntry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Redis store: one sorted set scored by revocation time, members "jti|expiresAtMillis".
+ * Range reads by score give gateways an incremental feed without scanning keys.
+ */
+@Service
+@ConditionalOnProperty(name = "jwt.revocation.store", havingValue = "redis")
+public class RedisTokenRevocationStore implements TokenRevocationStore {
+
+    private static final String KEY = "auth:revoked-tokens";
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Value("${jwt.refresh-expiration:604800000}")
+    private long maxTokenLifetime;
+
+    @Override
+    public void revoke(String jti, Instant expiresAt) {
+        redisTemplate.opsForZSet().add(KEY, jti + "|" + expiresAt.toEpochMilli(), System.currentTimeMillis());
+    }
+
+    @Override
+    public List<RevocationEntry> findRevokedSince(Instant since) {
+        Set<String> members = redisTemplate.opsForZSet()
+            .rangeByScore(KEY, since.toEpochMilli(), Double.POSITIVE_INFINITY);
+        List<RevocationEntry> entries = new ArrayList<>();
+        if (members == null) {
+            return entries;
+        }
+        long now = System.currentTimeMillis();
+        for (String member : members) {
+            int separator = member.lastIndexOf('|');
+            long expiresAt = Long.parseLong(member.substring(separator + 1));
+            if (expiresAt > now) {
+                entries.add(new RevocationEntry(member.substring(0, separator), expiresAt));
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public void purgeExpired() {
+        // Scores are revocation times; anything revoked longer ago than the
+        // longest token lifetime has certainly expired
+        long cutoff = System.currentTimeMillis() - maxTokenLifetime;
+        redisTemplate.opsForZSet().removeRangeByScore(KEY, Double.NEGATIVE_INFINITY, cutoff);
+    }
+}
@@ -0,0 +1,116 @@
+package com.devwonder.auth_service.service;
+
+import com.devwonder.auth_service.dto.AuthResponse;
+import com.devwonder.auth_service.entity.UserSession;
+import com.devwonder.auth_service.repository.UserSessionRepository;
+import com.devwonder.auth_service.util.JwtPrincipal;
+import com.devwonder.auth_service.util.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Server-side refresh sessions backed by the user_sessions table.
+ *
+ * Each refresh token is single use: redeeming it marks its row rotated with one
+ * conditional UPDATE on the primary key and issues a successor in the same
+ * family (carried in the token's {@code fid} claim). Presenting a rotated token again means it was copied, so the whole
+ * family is deleted and every token in it stops working.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    @Autowired
+    private UserSessionRepository userSessionRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    /**
+     * Starts a new session family, e.g. on login or registration.
+     */
+    public String issue(AuthResponse.UserInfo user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Redeems a verified refresh token and returns its successor, or empty if the
+     * token is unknown, expired or has been used before.
+     */
+    @Transactional
+    public Optional<String> rotate(JwtPrincipal principal, AuthResponse.UserInfo user) {
+        if (principal.jti() == null || principal.sessionFamily() == null) {
+            return Optional.empty();
+        }
+
+        String id = hash(principal.jti());
+        if (userSessionRepository.markRotated(id, LocalDateTime.now()) == 1) {
+            return Optional.of(issue(user, principal.sessionFamily()));
+        }
+
+        // Off the happy path: tell a replayed token apart from an unknown or expired one
+        userSessionRepository.findById(id)
+            .filter(session -> session.getRotatedAt() != null)
+            .ifPresent(session -> {
+                int revoked = userSessionRepository.deleteByFamilyId(session.getFamilyId());
+                log.warn("Refresh token reuse detected for user {}, revoked {} session(s) in family {}",
+                    principal.username(), revoked, session.getFamilyId());
+            });
+        return Optional.empty();
+    }
+
+    /**
+     * Ends the session chain a refresh token belongs to (logout on one device).
+     */
+    @Transactional
+    public int revokeFamily(String familyId) {
+        return userSessionRepository.deleteByFamilyId(familyId);
+    }
+
+    /**
+     * Ends every session of a user, used on logout when the client does not say
+     * which refresh token it holds.
+     */
+    @Transactional
+    public int revokeAll(Long userId) {
+        return userSessionRepository.deleteByUserId(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${auth.sessions.purge-interval:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = userSessionRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.debug("Purged {} expired session(s)", purged);
+        }
+    }
+
+    private String issue(AuthResponse.UserInfo user, String familyId) {
+        String jti = UUID.randomUUID().toString();
+        LocalDateTime expiresAt = LocalDateTime.now().plusNanos(jwtUtil.getRefreshExpirationTime() * 1_000_000L);
+        userSessionRepository.save(new UserSession(hash(jti), user.getId(), familyId, expiresAt));
+        return jwtUtil.generateRefreshToken(user, jti, familyId);
+    }
+
+    static String hash(String jti) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(jti.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.devwonder.auth_service.service;
+
+import com.devwonder.auth_service.entity.SigningKey;
+import com.devwonder.auth_service.repository.SigningKeyRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigInteger;
+import java.security.*;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Owns the RS256 signing keys when {@code jwt.algorithm=RS256}.
+ *
+ * Keys live in the database so every auth-service replica signs and verifies
+ * with the same set. Each replica keeps an in-memory snapshot, reloads it
+ * periodically, and creates a new key once the newest one is older than the
+ * rotation interval. A new key is published straight away but only starts
+ * signing after {@code jwt.rsa.activation-delay}, which must exceed the
+ * gateway's {@code jwt.jwks.refresh-interval} so every gateway already has it.
+ * Retired keys stay published until the longest-lived token they could have
+ * signed has expired.
+ */
+@Service
+public class SigningKeyService {
+
+    private static final Logger log = LoggerFactory.getLogger(SigningKeyService.class);
+
+    public static final String RS256 = "RS256";
+
+    // Lower bound between reloads triggered by unknown key ids
+    private static final long MIN_RELOAD_INTERVAL_MS = 5000;
+
+    @Autowired
+    private SigningKeyRepository signingKeyRepository;
+
+    @Value("${jwt.algorithm:HS256}")
+    private String algorithm;
+
+    @Value("${jwt.rsa.key-size:2048}")
+    private int keySize;
+
+    @Value("${jwt.rsa.rotation-interval:86400000}") // 1 day default
+    private long rotationInterval;
+
+    @Value("${jwt.rsa.activation-delay:360000}") // 6 minutes default
+    private long activationDelay;
+
+    @Value("${jwt.refresh-expiration:604800000}")
+    private long refreshExpiration;
+
+    private volatile KeySnapshot snapshot = KeySnapshot.EMPTY;
+    private volatile long lastReloadMillis;
+
+    public boolean isEnabled() {
+        return RS256.equalsIgnoreCase(algorithm);
+    }
+
+    @PostConstruct
+    void init() {
+        if (!isEnabled()) {
+            return;
+        }
+        reload();
+        if (snapshot.active() == null) {
+            // Nothing can have cached the key set yet, so the first key signs at once
+            createKey(LocalDateTime.now());
+            reload();
+        }
+        log.info("RS256 signing enabled with {} published key(s), active kid: {}",
+                snapshot.publicKeys().size(), snapshot.active().kid());
+    }
+
+    /**
+     * Picks up keys created by other replicas, publishes a new key when due,
+     * switches to it once its activation time has passed and drops keys whose
+     * tokens can no longer be valid.
+     */
+    @Scheduled(fixedDelayString = "${jwt.rsa.refresh-interval:60000}",
+               initialDelayString = "${jwt.rsa.refresh-interval:60000}")
+    @Transactional
+    public void refresh() {
+        if (!isEnabled()) {
+            return;
+        }
+        int purged = signingKeyRepository.deleteCreatedBefore(publishCutoff());
+        if (purged > 0) {
+            log.info("Purged {} expired signing key(s)", purged);
+        }
+        // Reload first so a key another replica just created is not duplicated
+        reload();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime newest = snapshot.newestCreatedAt();
+        // Compare with the newest key, not the active one, so a key waiting to activate is not duplicated either
+        if (newest == null || newest.isBefore(now.minus(Duration.ofMillis(rotationInterval)))) {
+            createKey(now.plus(Duration.ofMillis(activationDelay)));
+            reload();
+        }
+    }
+
+    public ActiveKey activeKey() {
+        return snapshot.active();
+    }
+
+    /**
+     * Public key for a key id, or {@code null} if the id is unknown.
+     * An unknown id triggers a (rate-limited) reload so keys rotated in by
+     * another replica are found without waiting for the next refresh.
+     */
+    public PublicKey publicKey(String kid) {
+        if (kid == null) {
+            return null;
+        }
+        PublicKey key = snapshot.publicKeys().get(kid);
+        if (key == null && isEnabled()
+                && System.currentTimeMillis() - lastReloadMillis > MIN_RELOAD_INTERVAL_MS) {
+            reload();
+            key = snapshot.publicKeys().get(kid);
+        }
+        return key;
+    }
+
+    /**
+     * Published key set in JWKS format (RFC 7517).
+     */
+    public Map<String, Object> jwks() {
+        List<Map<String, Object>> keys = new ArrayList<>();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        snapshot.publicKeys().forEach((kid, publicKey) -> {
+            RSAPublicKey rsa = (RSAPublicKey) publicKey;
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "RSA");
+            jwk.put("use", "sig");
+            jwk.put("alg", RS256);
+            jwk.put("kid", kid);
+            jwk.put("n", encoder.encodeToString(unsigned(rsa.getModulus())));
+            jwk.put("e", encoder.encodeToString(unsigned(rsa.getPublicExponent())));
+            keys.add(jwk);
+        });
+        return Map.of("keys", keys);
+    }
+
+    private synchronized void reload() {
+        List<SigningKey> keys = signingKeyRepository.findByCreatedAtAfterOrderByCreatedAtDesc(publishCutoff());
+        Map<String, PublicKey> publicKeys = new LinkedHashMap<>();
+        ActiveKey active = null;
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+            for (SigningKey key : keys) {
+                publicKeys.put(key.getKid(), keyFactory.generatePublic(
+                        new X509EncodedKeySpec(Base64.getDecoder().decode(key.getPublicKey()))));
+                if (active == null && (key.getActivatesAt() == null || !key.getActivatesAt().isAfter(now))) {
+                    PrivateKey privateKey = keyFactory.generatePrivate(
+                            new PKCS8EncodedKeySpec(Base64.getDecoder().decode(key.getPrivateKey())));
+                    active = new ActiveKey(key.getKid(), privateKey, key.getCreatedAt());
+                }
+            }
+        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+            throw new IllegalStateException("Failed to load signing keys", e);
+        }
+        LocalDateTime newestCreatedAt = keys.isEmpty() ? null : keys.get(0).getCreatedAt();
+        snapshot = new KeySnapshot(active, Collections.unmodifiableMap(publicKeys), newestCreatedAt);
+        lastReloadMillis = System.currentTimeMillis();
+    }
+
+    private void createKey(LocalDateTime activatesAt) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(keySize);
+            KeyPair keyPair = generator.generateKeyPair();
+
+            byte[] publicKey = keyPair.getPublic().getEncoded();
+            SigningKey signingKey = new SigningKey();
+            signingKey.setKid(thumbprint(publicKey));
+            signingKey.setAlgorithm(RS256);
+            signingKey.setPublicKey(Base64.getEncoder().encodeToString(publicKey));
+            signingKey.setPrivateKey(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+            signingKey.setActivatesAt(activatesAt);
+            signingKeyRepository.save(signingKey);
+
+            log.info("Created new RS256 signing key with kid: {}, signing from {}", signingKey.getKid(), activatesAt);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("RSA is not available", e);
+        }
+    }
+
+    private LocalDateTime publishCutoff() {
+        // A key signs until its successor activates, one rotation interval plus
+        // one activation delay after it was created, and its last refresh token
+        // lives for refreshExpiration after that
+        return LocalDateTime.now().minus(Duration.ofMillis(rotationInterval + activationDelay + refreshExpiration));
+    }
+
+    private static String thumbprint(byte[] encodedPublicKey) throws NoSuchAlgorithmException {
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(encodedPublicKey);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 12));
+    }
+
+    private static byte[] unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            return Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return bytes;
+    }
+
+    public record ActiveKey(String kid, PrivateKey privateKey, LocalDateTime createdAt) {}
+
+    private record KeySnapshot(ActiveKey active, Map<String, PublicKey> publicKeys, LocalDateTime newestCreatedAt) {
+        static final KeySnapshot EMPTY = new KeySnapshot(null, Map.of(), null);
+    }
+}
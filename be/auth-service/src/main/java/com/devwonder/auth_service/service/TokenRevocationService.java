@@ -0,0 +1,43 @@
+package com.devwonder.auth_service.service;
+
+import com.devwonder.auth_service.dto.RevocationEntry;
+import com.devwonder.auth_service.util.JwtPrincipal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    @Autowired
+    private TokenRevocationStore tokenRevocationStore;
+
+    /**
+     * Revokes the token until its natural expiry. Tokens issued before ids were
+     * added carry no jti and simply run out.
+     */
+    public void revoke(JwtPrincipal principal) {
+        if (principal.jti() == null || principal.expiresAt() == null) {
+            log.debug("Token for {} has no jti, skipping revocation", principal.username());
+            return;
+        }
+        tokenRevocationStore.revoke(principal.jti(), principal.expiresAt());
+        log.debug("Revoked token {} for {}", principal.jti(), principal.username());
+    }
+
+    public List<RevocationEntry> findRevokedSince(long sinceMillis) {
+        return tokenRevocationStore.findRevokedSince(Instant.ofEpochMilli(sinceMillis));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval:3600000}")
+    public void purgeExpired() {
+        tokenRevocationStore.purgeExpired();
+    }
+}
@@ -0,0 +1,25 @@
+package com.devwonder.auth_service.service;
+
+import com.devwonder.auth_service.dto.RevocationEntry;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Shared record of revoked token ids, read by every gateway replica.
+ * Selected with {@code jwt.revocation.store} ({@code database} or {@code redis}).
+ */
+public interface TokenRevocationStore {
+
+    void revoke(String jti, Instant expiresAt);
+
+    /**
+     * Unexpired revocations recorded at or after {@code since}.
+     */
+    List<RevocationEntry> findRevokedSince(Instant since);
+
+    /**
+     * Drops entries whose tokens have expired and can no longer be presented.
+     */
+    void purgeExpired();
+}
@@ -0,0 +1,154 @@
+package com.devwonder.auth_service.service;
+
+import com.devwonder.auth_service.dto.AuthResponse;
+import com.devwonder.auth_service.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Read-through cache of {@link AuthResponse.UserInfo} by username, used by the
+ * profile and refresh endpoints.
+ *
+ * The first tier is a bounded in-process cache with a short TTL. When
+ * {@code auth.user-cache.redis.enabled=true} a Redis tier sits behind it, shared
+ * by all replicas, and evictions are broadcast so every replica drops its local
+ * copy immediately rather than at TTL.
+ */
+@Service
+public class UserCacheService implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(UserCacheService.class);
+
+    public static final String EVICTION_CHANNEL = "auth:user-cache:evict";
+    private static final String REDIS_KEY_PREFIX = "auth:user:";
+
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final StringRedisTemplate redisTemplate;
+    private final Duration redisTtl;
+    private final Cache<String, AuthResponse.UserInfo> localCache;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+
+    public UserCacheService(UserRepository userRepository,
+                            ObjectMapper objectMapper,
+                            ObjectProvider<StringRedisTemplate> redisTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${auth.user-cache.max-size:10000}") long maxSize,
+                            @Value("${auth.user-cache.ttl:60000}") long ttl,
+                            @Value("${auth.user-cache.redis.enabled:false}") boolean redisEnabled,
+                            @Value("${auth.user-cache.redis.ttl:600000}") long redisTtl) {
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.redisTemplate = redisEnabled ? redisTemplate.getIfAvailable() : null;
+        this.redisTtl = Duration.ofMillis(redisTtl);
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "auth.users");
+        this.redisHits = Counter.builder("auth.users.redis").tag("result", "hit").register(meterRegistry);
+        this.redisMisses = Counter.builder("auth.users.redis").tag("result", "miss").register(meterRegistry);
+
+        log.info("User cache initialized with max size: {}, ttl: {} ms, redis tier: {}",
+                maxSize, ttl, this.redisTemplate != null);
+    }
+
+    public AuthResponse.UserInfo getByUsername(String username) {
+        return localCache.get(username, this::loadUser);
+    }
+
+    /**
+     * Drops the user from every tier and tells other replicas to do the same.
+     * Call after any change to a user's profile fields.
+     */
+    public void evict(String username) {
+        localCache.invalidate(username);
+        if (redisTemplate != null) {
+            try {
+                redisTemplate.delete(REDIS_KEY_PREFIX + username);
+                redisTemplate.convertAndSend(EVICTION_CHANNEL, username);
+            } catch (RuntimeException e) {
+                log.warn("Failed to evict user {} from Redis: {}", username, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Local-only eviction, applied when another replica broadcasts a change.
+     */
+    public void evictLocal(String username) {
+        localCache.invalidate(username);
+    }
+
+    /**
+     * Receives evictions published on {@link #EVICTION_CHANNEL}, including this
+     * replica's own, which are harmless.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        evictLocal(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private AuthResponse.UserInfo loadUser(String username) {
+        AuthResponse.UserInfo cached = readRedis(username);
+        if (cached != null) {
+            return cached;
+        }
+
+        AuthResponse.UserInfo userInfo = userRepository.findByUsername(username)
+            .map(AuthResponse.UserInfo::new)
+            .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        writeRedis(username, userInfo);
+        return userInfo;
+    }
+
+    private AuthResponse.UserInfo readRedis(String username) {
+        if (redisTemplate == null) {
+            return null;
+        }
+        try {
+            String json = redisTemplate.opsForValue().get(REDIS_KEY_PREFIX + username);
+            if (json == null) {
+                redisMisses.increment();
+                return null;
+            }
+            redisHits.increment();
+            return objectMapper.readValue(json, AuthResponse.UserInfo.class);
+        } catch (JsonProcessingException | RuntimeException e) {
+            // Redis is an optimization; fall back to the database
+            log.warn("Failed to read user {} from Redis: {}", username, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRedis(String username, AuthResponse.UserInfo userInfo) {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(REDIS_KEY_PREFIX + username,
+                    objectMapper.writeValueAsString(userInfo), redisTtl);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to write user {} to Redis: {}", username, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package com.devwonder.auth_service.service;
+
+import com.devwonder.auth_service.dto.UserImportResult;
+import com.devwonder.auth_service.dto.UserImportRow;
+import com.devwonder.auth_service.entity.User;
+import com.devwonder.auth_service.exception.PasswordHashingRejectedException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Streams accounts from NDJSON or CSV into the users table.
+ *
+ * Rows are read in chunks of {@code auth.import.batch-size}. Each chunk is
+ * validated, its passwords are hashed in parallel on the import executor, and
+ * the valid rows are written with one JDBC batch in one transaction. A row that
+ * fails validation, hashing or a uniqueness constraint is reported and skipped;
+ * it never aborts the rest of the import. Only roles listed in
+ * {@code auth.import.allowed-roles} may be assigned.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final String INSERT_SQL =
+        "INSERT INTO users (id, username, email, password, full_name, role, is_enabled, is_account_non_expired, "
+            + "is_account_non_locked, is_credentials_non_expired, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, true, true, true, true, ?, ?) ON CONFLICT DO NOTHING";
+
+    private static final String ALLOCATE_IDS_SQL =
+        "SELECT nextval('" + User.ID_SEQUENCE + "') FROM generate_series(1, ?)";
+
+    // Schemes the configured DelegatingPasswordEncoder can verify
+    private static final List<String> HASH_PREFIXES = List.of("{bcrypt}", "{argon2}");
+
+    private static final int HASH_ATTEMPTS = 5;
+
+    public enum Format { NDJSON, CSV }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final Executor importExecutor;
+    private final int batchSize;
+    private final int maxReportedErrors;
+    private final Set<User.Role> allowedRoles;
+
+    public UserImportService(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             PasswordEncoder passwordEncoder,
+                             ObjectMapper objectMapper,
+                             Validator validator,
+                             @Qualifier("userImportTaskExecutor") Executor importExecutor,
+                             @Value("${auth.import.batch-size:1000}") int batchSize,
+                             @Value("${auth.import.max-reported-errors:1000}") int maxReportedErrors,
+                             @Value("${auth.import.allowed-roles:USER}") Set<User.Role> allowedRoles) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.importExecutor = importExecutor;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.allowedRoles = EnumSet.copyOf(allowedRoles);
+    }
+
+    public UserImportResult importUsers(InputStream body, Format format) throws IOException {
+        UserImportResult result = new UserImportResult();
+        long startedAt = System.currentTimeMillis();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            List<PendingRow> chunk = new ArrayList<>(batchSize);
+            String[] csvHeader = null;
+            String line;
+            int lineNumber = 0;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == Format.CSV && csvHeader == null) {
+                    csvHeader = parseCsvLine(line);
+                    continue;
+                }
+
+                result.setTotal(result.getTotal() + 1);
+                UserImportRow row;
+                try {
+                    row = format == Format.CSV ? toRow(csvHeader, parseCsvLine(line)) : objectMapper.readValue(line, UserImportRow.class);
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    reject(result, lineNumber, null, "Malformed row");
+                    continue;
+                }
+
+                String error = validate(row);
+                if (error != null) {
+                    reject(result, lineNumber, row.getUsername(), error);
+                    continue;
+                }
+
+                chunk.add(new PendingRow(lineNumber, row));
+                if (chunk.size() >= batchSize) {
+                    writeChunk(chunk, result);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, result);
+            }
+        }
+
+        log.info("Imported {} of {} user(s) in {} ms, {} failed", result.getImported(), result.getTotal(),
+            System.currentTimeMillis() - startedAt, result.getFailed());
+        return result;
+    }
+
+    private void writeChunk(List<PendingRow> chunk, UserImportResult result) {
+        // Hash every plain-text password of the chunk in parallel
+        List<CompletableFuture<Void>> hashing = new ArrayList<>();
+        for (PendingRow pending : chunk) {
+            if (pending.encodedPassword == null) {
+                hashing.add(CompletableFuture.runAsync(
+                    () -> pending.encodedPassword = encode(pending.row.getPassword()), importExecutor)
+                    .exceptionally(e -> {
+                        pending.error = "Password hashing failed, retry this row";
+                        return null;
+                    }));
+            }
+        }
+        hashing.forEach(CompletableFuture::join);
+
+        List<PendingRow> ready = new ArrayList<>(chunk.size());
+        for (PendingRow pending : chunk) {
+            if (pending.error != null) {
+                reject(result, pending.line, pending.row.getUsername(), pending.error);
+            } else {
+                ready.add(pending);
+            }
+        }
+        if (ready.isEmpty()) {
+            return;
+        }
+
+        int[] counts;
+        try {
+            counts = transactionTemplate.execute(status -> {
+                Iterator<Long> ids = allocateIds(ready.size()).iterator();
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                List<Object[]> args = new ArrayList<>(ready.size());
+                for (PendingRow pending : ready) {
+                    UserImportRow row = pending.row;
+                    args.add(new Object[]{ids.next(), row.getUsername(), row.getEmail(), pending.encodedPassword,
+                        row.getFullName(), pending.role.name(), now, now});
+                }
+                return jdbcTemplate.batchUpdate(INSERT_SQL, args);
+            });
+        } catch (DataAccessException e) {
+            log.warn("Import batch of {} row(s) failed: {}", ready.size(), e.getMessage());
+            for (PendingRow pending : ready) {
+                reject(result, pending.line, pending.row.getUsername(), "Batch insert failed, retry this row");
+            }
+            return;
+        }
+
+        for (int i = 0; i < ready.size(); i++) {
+            // ON CONFLICT DO NOTHING reports 0 rows for an existing username or email
+            if (counts[i] == 0) {
+                reject(result, ready.get(i).line, ready.get(i).row.getUsername(), "Username or email is already registered");
+            } else if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                result.setImported(result.getImported() + 1);
+            }
+        }
+    }
+
+    /**
+     * Reserves ids the way Hibernate's pooled optimizer does: each nextval value v
+     * owns the block (v - allocationSize, v], so these never collide with ids
+     * allocated by the entity layer.
+     */
+    private List<Long> allocateIds(int count) {
+        List<Long> ids = new ArrayList<>(count + User.ID_ALLOCATION_SIZE);
+        // Loops only on a fresh sequence, whose first value 1 owns a single id
+        while (ids.size() < count) {
+            int blocks = (count - ids.size() + User.ID_ALLOCATION_SIZE - 1) / User.ID_ALLOCATION_SIZE;
+            for (Long hi : jdbcTemplate.queryForList(ALLOCATE_IDS_SQL, Long.class, blocks)) {
+                for (long id = Math.max(1, hi - User.ID_ALLOCATION_SIZE + 1); id <= hi; id++) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+
+    // Shares the bounded hashing pool with logins; back off briefly while it is saturated
+    private String encode(String rawPassword) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return passwordEncoder.encode(rawPassword);
+            } catch (PasswordHashingRejectedException e) {
+                if (attempt == HASH_ATTEMPTS) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(50L * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new CompletionException(interrupted);
+                }
+            }
+        }
+    }
+
+    private String validate(UserImportRow row) {
+        Set<ConstraintViolation<UserImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        boolean hasPassword = row.getPassword() != null && !row.getPassword().isBlank();
+        boolean hasHash = row.getPasswordHash() != null && !row.getPasswordHash().isBlank();
+        if (hasPassword == hasHash) {
+            return "Exactly one of password or passwordHash is required";
+        }
+        if (hasHash && HASH_PREFIXES.stream().noneMatch(row.getPasswordHash()::startsWith)) {
+            return "passwordHash must start with one of " + HASH_PREFIXES;
+        }
+        if (row.getRole() != null && !row.getRole().isBlank()) {
+            User.Role role;
+            try {
+                role = User.Role.valueOf(row.getRole().trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return "Unknown role: " + row.getRole();
+            }
+            // An import file must not be a way to mint administrators
+            if (!allowedRoles.contains(role)) {
+                return "Role not allowed for import: " + role;
+            }
+        }
+        return null;
+    }
+
+    private void reject(UserImportResult result, int line, String username, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new UserImportResult.RowError(line, username, message));
+        }
+    }
+
+    private static UserImportRow toRow(String[] header, String[] values) {
+        UserImportRow row = new UserImportRow();
+        for (int i = 0; i < header.length && i < values.length; i++) {
+            String value = values[i].isEmpty() ? null : values[i];
+            switch (header[i].trim().toLowerCase(Locale.ROOT).replace("_", "")) {
+                case "username" -> row.setUsername(value);
+                case "email" -> row.setEmail(value);
+                case "password" -> row.setPassword(value);
+                case "passwordhash" -> row.setPasswordHash(value);
+                case "fullname" -> row.setFullName(value);
+                case "role" -> row.setRole(value);
+                default -> { }
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Splits one RFC 4180 record; fields may be quoted and quotes escaped by
+     * doubling. Records spanning several lines are not supported.
+     */
+    static String[] parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields.toArray(String[]::new);
+    }
+
+    private static final class PendingRow {
+        final int line;
+        final UserImportRow row;
+        final User.Role role;
+        volatile String encodedPassword;
+        volatile String error;
+
+        PendingRow(int line, UserImportRow row) {
+            this.line = line;
+            this.row = row;
+            this.role = row.getRole() == null || row.getRole().isBlank()
+                ? User.Role.USER
+                : User.Role.valueOf(row.getRole().trim().toUpperCase(Locale.ROOT));
+            this.encodedPassword = row.getPasswordHash();
+        }
+    }
+}
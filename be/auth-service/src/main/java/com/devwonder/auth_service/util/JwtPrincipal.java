@@ -0,0 +1,26 @@
+package com.devwonder.auth_service.util;
+
+import java.time.Instant;
+
+/**
+ * Immutable view of all claims carried by a verified token, produced by a
+ * single {@link JwtUtil#parse(String)} call.
+ */
+public record JwtPrincipal(
+        String username,
+        String userId,
+        String email,
+        String fullName,
+        String role,
+        String type,
+        Integer claimsVersion,
+        String sessionFamily,
+        String jti,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+
+    public boolean isRefreshToken() {
+        return "refresh".equals(type);
+    }
+}
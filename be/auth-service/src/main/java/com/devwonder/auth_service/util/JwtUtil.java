@@ -1,21 +1,28 @@
 package com.devwonder.auth_service.util;
 
+import com.devwonder.auth_service.dto.AuthResponse;
 import com.devwonder.auth_service.entity.User;
+import com.devwonder.auth_service.service.SigningKeyService;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
+    @Value("${jwt.secret:}")
     private String secret;
 
     @Value("${jwt.expiration}")
@@ -24,33 +31,99 @@ public class JwtUtil {
     @Value("${jwt.refresh-expiration:604800000}") // 7 days default
     private long refreshExpiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    // Bump whenever the set or meaning of profile claims changes, so older
+    // access tokens are no longer trusted as a source of profile data
+    @Value("${jwt.claims-version:1}")
+    private int claimsVersion;
+
+    @Autowired
+    private SigningKeyService signingKeyService;
+
+    // Built once at startup; JwtParser is immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        if (!signingKeyService.isEnabled() && secret.isEmpty()) {
+            throw new IllegalStateException("jwt.secret is required unless jwt.algorithm=RS256");
+        }
+        this.signingKey = secret.isEmpty() ? null : Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolveVerificationKey(header);
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * HS256 tokens verify with the shared secret (if one is still configured),
+     * RS256 tokens with the published key named by their {@code kid} header.
+     */
+    private Key resolveVerificationKey(JwsHeader<?> header) {
+        if (SignatureAlgorithm.HS256.getValue().equals(header.getAlgorithm()) && signingKey != null) {
+            return signingKey;
+        }
+        if (SignatureAlgorithm.RS256.getValue().equals(header.getAlgorithm())) {
+            Key key = signingKeyService.publicKey(header.getKeyId());
+            if (key != null) {
+                return key;
+            }
+        }
+        throw new UnsupportedJwtException("No verification key for alg " + header.getAlgorithm()
+                + " and kid " + header.getKeyId());
     }
 
     public String generateToken(User user) {
+        return generateToken(new AuthResponse.UserInfo(user));
+    }
+
+    public String generateToken(AuthResponse.UserInfo user) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", user.getId().toString());
         claims.put("email", user.getEmail());
         claims.put("fullName", user.getFullName());
-        claims.put("role", user.getRole().name());
+        claims.put("role", user.getRole());
+        claims.put("cv", claimsVersion);
         return createToken(claims, user.getUsername(), expiration);
     }
 
-    public String generateRefreshToken(User user) {
+    /**
+     * Refresh token bound to a server-side session: {@code jti} identifies the
+     * session row and {@code familyId} the login it descends from.
+     */
+    public String generateRefreshToken(AuthResponse.UserInfo user, String jti, String familyId) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", user.getId().toString());
         claims.put("type", "refresh");
-        return createToken(claims, user.getUsername(), refreshExpiration);
+        claims.put("fid", familyId);
+        return createToken(claims, user.getUsername(), refreshExpiration, jti);
     }
 
     private String createToken(Map<String, Object> claims, String subject, long expiration) {
-        return Jwts.builder()
+        return createToken(claims, subject, expiration, UUID.randomUUID().toString());
+    }
+
+    private String createToken(Map<String, Object> claims, String subject, long expiration, String jti) {
+        JwtBuilder builder = Jwts.builder()
                 .setClaims(claims)
+                .setId(jti)
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + expiration));
+
+        if (signingKeyService.isEnabled()) {
+            SigningKeyService.ActiveKey activeKey = signingKeyService.activeKey();
+            return builder
+                    .setHeaderParam(JwsHeader.KEY_ID, activeKey.kid())
+                    .signWith(activeKey.privateKey(), SignatureAlgorithm.RS256)
+                    .compact();
+        }
+        return builder
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -84,11 +157,29 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Verifies the token once and returns every claim as an immutable principal.
+     *
+     * @throws JwtException if the signature is invalid or the token has expired
+     */
+    public JwtPrincipal parse(String token) {
+        Claims claims = extractAllClaims(token);
+        return new JwtPrincipal(
+                claims.getSubject(),
+                claims.get("userId", String.class),
+                claims.get("email", String.class),
+                claims.get("fullName", String.class),
+                claims.get("role", String.class),
+                claims.get("type", String.class),
+                claims.get("cv", Integer.class),
+                claims.get("fid", String.class),
+                claims.getId(),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+        );
     }
 
     public Boolean isTokenExpired(String token) {
@@ -102,8 +193,9 @@ public class JwtUtil {
 
     public Boolean validateToken(String token) {
         try {
+            // The parser rejects expired tokens itself, so one parse is enough
             extractAllClaims(token);
-            return !isTokenExpired(token);
+            return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
@@ -125,4 +217,8 @@ public class JwtUtil {
     public long getRefreshExpirationTime() {
         return refreshExpiration;
     }
+
+    public int getClaimsVersion() {
+        return claimsVersion;
+    }
 }
\ No newline at end of file
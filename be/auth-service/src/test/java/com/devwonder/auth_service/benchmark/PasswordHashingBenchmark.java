@@ -0,0 +1,58 @@
+package com.devwonder.auth_service.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password verification cost per hashing setting. One benchmark thread keeps
+ * one core busy, so the score is logins per second per core; multiply by the
+ * hashing pool size for a per-pod estimate.
+ *
+ * Not part of the test suite; run {@link #main(String[])} from the test classpath.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class PasswordHashingBenchmark {
+
+    @Param({"bcrypt-10", "bcrypt-12", "argon2-19MiB-t2", "argon2-46MiB-t1"})
+    private String setting;
+
+    private PasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setup() {
+        encoder = switch (setting) {
+            case "bcrypt-10" -> new BCryptPasswordEncoder(10);
+            case "bcrypt-12" -> new BCryptPasswordEncoder(12);
+            // OWASP-recommended Argon2id parameter sets
+            case "argon2-19MiB-t2" -> new Argon2PasswordEncoder(16, 32, 1, 19456, 2);
+            case "argon2-46MiB-t1" -> new Argon2PasswordEncoder(16, 32, 1, 47104, 1);
+            default -> throw new IllegalArgumentException(setting);
+        };
+        hash = encoder.encode("correct horse battery staple");
+    }
+
+    @Benchmark
+    public boolean login() {
+        return encoder.matches("correct horse battery staple", hash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PasswordHashingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,147 @@
+package com.devwonder.auth_service.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * User insert throughput with IDENTITY versus a pooled sequence, under the
+ * Hibernate batch settings used by auth-service. Scores are rows per ms.
+ *
+ * Runs against in-memory H2 (PostgreSQL mode), where a round trip costs almost
+ * nothing; over a network to PostgreSQL the per-row INSERT that IDENTITY forces
+ * weighs much more, so real gains are larger than measured here.
+ *
+ * Not part of the test suite; run {@link #main(String[])} from the test classpath.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserInsertBenchmark {
+
+    private static final int BULK_SIZE = 1000;
+
+    @Param({"identity", "sequence"})
+    private String idGeneration;
+
+    private HikariDataSource dataSource;
+    private EntityManagerFactory entityManagerFactory;
+    private final AtomicLong counter = new AtomicLong();
+
+    @Setup
+    public void setup() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:users-" + idGeneration + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        dataSource.setMaximumPoolSize(16);
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan(UserInsertBenchmark.class.getPackageName());
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+            "hibernate.hbm2ddl.auto", "create-drop",
+            "hibernate.jdbc.batch_size", "50",
+            "hibernate.order_inserts", "true"
+        ));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManagerFactory.close();
+        dataSource.close();
+    }
+
+    /** Bulk import: one transaction persisting many users. */
+    @Benchmark
+    @OperationsPerInvocation(BULK_SIZE)
+    public void bulkInsert() {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            for (int i = 0; i < BULK_SIZE; i++) {
+                em.persist(newUser());
+            }
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+
+    /** Registration traffic: many threads, one user per transaction. */
+    @Benchmark
+    @Threads(8)
+    public void concurrentRegistration() {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.persist(newUser());
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+
+    private Object newUser() {
+        String username = "dealer" + counter.incrementAndGet();
+        return "identity".equals(idGeneration) ? new IdentityUser(username) : new SequenceUser(username);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    @Entity
+    @Table(name = "identity_users")
+    public static class IdentityUser {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        @Column(nullable = false, unique = true)
+        private String username;
+
+        public IdentityUser() {}
+
+        IdentityUser(String username) {
+            this.username = username;
+        }
+    }
+
+    @Entity
+    @Table(name = "sequence_users")
+    public static class SequenceUser {
+
+        // Same mapping as User
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequence_users_seq")
+        @SequenceGenerator(name = "sequence_users_seq", sequenceName = "sequence_users_seq", allocationSize = 50)
+        private Long id;
+
+        @Column(nullable = false, unique = true)
+        private String username;
+
+        public SequenceUser() {}
+
+        SequenceUser(String username) {
+            this.username = username;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.devwonder.auth_service.controller;
+
+import com.devwonder.auth_service.config.SecurityConfig;
+import com.devwonder.auth_service.dto.UserImportResult;
+import com.devwonder.auth_service.service.UserDetailsServiceImpl;
+import com.devwonder.auth_service.service.UserImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The import endpoint creates accounts, so it must refuse any caller without
+ * the internal token.
+ */
+@WebMvcTest(controllers = UserImportController.class, properties = {
+    // Skip application.properties and its config-server import
+    "spring.config.name=none",
+    "spring.cloud.config.enabled=false",
+    "auth.internal.token=s3cret"
+})
+@Import(SecurityConfig.class)
+class UserImportControllerTest {
+
+    private static final String CSV = "username,email,fullName,password\ndealer01,dealer01@4thitek.vn,Dealer One,secret01\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private UserImportService userImportService;
+
+    @MockitoBean
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Test
+    void rejectsCallsWithoutTheInternalToken() throws Exception {
+        mockMvc.perform(post("/internal/users/import").contentType("text/csv").content(CSV))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(post("/internal/users/import").contentType("text/csv").content(CSV)
+                .header(SecurityConfig.INTERNAL_TOKEN_HEADER, "guess"))
+            .andExpect(status().isForbidden());
+
+        verifyNoInteractions(userImportService);
+    }
+
+    @Test
+    void importsWithTheInternalToken() throws Exception {
+        UserImportResult result = new UserImportResult();
+        result.setTotal(1);
+        result.setImported(1);
+        when(userImportService.importUsers(any(), eq(UserImportService.Format.CSV))).thenReturn(result);
+
+        mockMvc.perform(post("/internal/users/import").contentType("text/csv").content(CSV)
+                .header(SecurityConfig.INTERNAL_TOKEN_HEADER, "s3cret"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(1));
+    }
+}
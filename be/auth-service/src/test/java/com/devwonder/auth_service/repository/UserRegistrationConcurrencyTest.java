@@ -0,0 +1,101 @@
+package com.devwonder.auth_service.repository;
+
+import com.devwonder.auth_service.entity.User;
+import com.devwonder.auth_service.exception.GlobalExceptionHandler;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Registration inserts without existence checks; the unique constraints must
+ * let exactly one of several racing registrations win and report the losers by
+ * the conflicting field.
+ */
+@DataJpaTest(properties = {
+    // Skip application.properties and its config-server import
+    "spring.config.name=none",
+    "spring.cloud.config.enabled=false",
+    "spring.datasource.url=jdbc:h2:mem:registration;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserRegistrationConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(UserRegistrationConcurrencyTest.class);
+
+    private static final int ATTEMPTS = 400;
+    private static final int DISTINCT_USERS = 100;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void racingRegistrationsInsertEachUserOnce() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger usernameConflicts = new AtomicInteger();
+        AtomicInteger emailConflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            int n = i % DISTINCT_USERS;
+            // Every other duplicate reuses only the email, so both constraints are exercised
+            String username = i < DISTINCT_USERS * 2 ? "dealer" + n : "dealer" + n + "-" + i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    userRepository.saveAndFlush(newUser(username, "dealer" + n + "@4thitek.vn"));
+                    created.incrementAndGet();
+                } catch (DataIntegrityViolationException e) {
+                    String field = GlobalExceptionHandler.conflictingUserField(e);
+                    if ("username".equals(field)) {
+                        usernameConflicts.incrementAndGet();
+                    } else if ("email".equals(field)) {
+                        emailConflicts.incrementAndGet();
+                    } else {
+                        throw e;
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        executor.shutdown();
+
+        log.info("{} registrations in {} ms ({} created, {} username / {} email conflicts)",
+            ATTEMPTS, elapsedMillis, created.get(), usernameConflicts.get(), emailConflicts.get());
+
+        assertThat(created.get()).isEqualTo(DISTINCT_USERS);
+        assertThat(userRepository.count()).isEqualTo(DISTINCT_USERS);
+        assertThat(usernameConflicts.get() + emailConflicts.get()).isEqualTo(ATTEMPTS - DISTINCT_USERS);
+        assertThat(emailConflicts.get()).isPositive();
+    }
+
+    private static User newUser(String username, String email) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setPassword("{bcrypt}hash");
+        user.setFullName("Dealer");
+        return user;
+    }
+}
@@ -0,0 +1,130 @@
+package com.devwonder.auth_service.service;
+
+import com.devwonder.auth_service.dto.AuthResponse;
+import com.devwonder.auth_service.dto.LoginRequest;
+import com.devwonder.auth_service.entity.User;
+import com.devwonder.auth_service.repository.UserRepository;
+import com.devwonder.auth_service.repository.UserSessionRepository;
+import com.devwonder.auth_service.util.JwtUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counts the SQL a login really sends, with Hibernate statistics on H2: one
+ * SELECT for the user (UserDetailsServiceImpl) and one INSERT for the new
+ * refresh session. The last-login UPDATE is deferred to LastLoginService.
+ */
+@DataJpaTest(properties = {
+    // Skip application.properties and its config-server import
+    "spring.config.name=none",
+    "spring.cloud.config.enabled=false",
+    "spring.datasource.url=jdbc:h2:mem:login;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({AuthService.class, UserDetailsServiceImpl.class, RefreshTokenService.class,
+    AuthServiceLoginTest.AuthenticationConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AuthServiceLoginTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSessionRepository userSessionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private JwtUtil jwtUtil;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private LastLoginService lastLoginService;
+
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
+    @MockitoBean
+    private UserCacheService userCacheService;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userSessionRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User user = new User();
+        user.setUsername("dealer01");
+        user.setEmail("dealer01@4thitek.vn");
+        user.setFullName("Dealer One");
+        user.setPassword("{bcrypt}hash");
+        userId = userRepository.saveAndFlush(user).getId();
+
+        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
+        when(jwtUtil.generateToken(any(AuthResponse.UserInfo.class))).thenReturn("access");
+        when(jwtUtil.getRefreshExpirationTime()).thenReturn(604_800_000L);
+    }
+
+    @Test
+    void loginRunsOneSelectAndOneInsert() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        AuthResponse response = authService.login(new LoginRequest("dealer01", "secret"));
+
+        assertThat(response.getAccessToken()).isEqualTo("access");
+        assertThat(response.getUser().getId()).isEqualTo(userId);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(userSessionRepository.count()).isEqualTo(1);
+
+        verify(lastLoginService).recordLogin(eq(userId), any(LocalDateTime.class));
+    }
+
+    @TestConfiguration
+    static class AuthenticationConfig {
+
+        @Bean
+        AuthenticationManager authenticationManager(UserDetailsServiceImpl userDetailsService,
+                                                    PasswordEncoder passwordEncoder) {
+            DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+            provider.setPasswordEncoder(passwordEncoder);
+            return new ProviderManager(provider);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.devwonder.auth_service.service;
+
+import com.devwonder.auth_service.util.JwtPrincipal;
+import com.devwonder.auth_service.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Logout must end the refresh session too, or the client could mint a new
+ * access token right after "logging out".
+ */
+@ExtendWith(MockitoExtension.class)
+class AuthServiceLogoutTest {
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @InjectMocks
+    private AuthService authService;
+
+    private final JwtPrincipal access = principal("dealer01", "access", null);
+
+    @Test
+    void revokesTheFamilyOfThePresentedRefreshToken() {
+        when(jwtUtil.parse("access-token")).thenReturn(access);
+        when(jwtUtil.parse("refresh-token")).thenReturn(principal("dealer01", "refresh", "family-1"));
+
+        authService.logout("Bearer access-token", "refresh-token");
+
+        verify(tokenRevocationService).revoke(access);
+        verify(refreshTokenService).revokeFamily("family-1");
+        verify(refreshTokenService, never()).revokeAll(any());
+    }
+
+    @Test
+    void revokesAllSessionsWhenNoRefreshTokenIsGiven() {
+        when(jwtUtil.parse("access-token")).thenReturn(access);
+
+        authService.logout("Bearer access-token", null);
+
+        verify(tokenRevocationService).revoke(access);
+        verify(refreshTokenService).revokeAll(42L);
+    }
+
+    @Test
+    void doesNotRevokeAnotherUsersFamily() {
+        when(jwtUtil.parse("access-token")).thenReturn(access);
+        when(jwtUtil.parse("someone-elses")).thenReturn(principal("dealer02", "refresh", "family-2"));
+
+        authService.logout("Bearer access-token", "someone-elses");
+
+        verify(refreshTokenService, never()).revokeFamily(any());
+        verify(refreshTokenService).revokeAll(42L);
+    }
+
+    private static JwtPrincipal principal(String username, String type, String family) {
+        return new JwtPrincipal(username, "42", username + "@4thitek.vn", "Dealer", "USER", type, 1, family,
+            "jti-" + type, Instant.now(), Instant.now().plusSeconds(600));
+    }
+}
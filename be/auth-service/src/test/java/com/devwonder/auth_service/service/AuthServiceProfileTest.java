@@ -0,0 +1,84 @@
+package com.devwonder.auth_service.service;
+
+import com.devwonder.auth_service.dto.AuthResponse;
+import com.devwonder.auth_service.util.JwtPrincipal;
+import com.devwonder.auth_service.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * /api/auth/profile is answered from a fresh access token's claims and only
+ * falls back to the user cache when the claims cannot be trusted.
+ */
+@ExtendWith(MockitoExtension.class)
+class AuthServiceProfileTest {
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private UserCacheService userCacheService;
+
+    @InjectMocks
+    private AuthService authService;
+
+    private final AuthResponse.UserInfo cached = new AuthResponse.UserInfo();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(authService, "profileSource", "claims");
+        ReflectionTestUtils.setField(authService, "profileClaimsMaxAge", Duration.ofMinutes(15).toMillis());
+        lenient().when(jwtUtil.getClaimsVersion()).thenReturn(2);
+        lenient().when(userCacheService.getByUsername("dealer01")).thenReturn(cached);
+    }
+
+    @Test
+    void freshAccessTokenIsServedFromClaims() {
+        when(jwtUtil.parse("token")).thenReturn(principal(2, Instant.now().minusSeconds(60)));
+
+        AuthResponse.UserInfo profile = authService.getUserProfile("Bearer token");
+
+        assertThat(profile.getId()).isEqualTo(42L);
+        assertThat(profile.getEmail()).isEqualTo("dealer01@4thitek.vn");
+        assertThat(profile.getRole()).isEqualTo("DEALER");
+        verifyNoInteractions(userCacheService);
+    }
+
+    @Test
+    void oldTokenFallsBackToLookup() {
+        when(jwtUtil.parse("token")).thenReturn(principal(2, Instant.now().minus(Duration.ofHours(1))));
+
+        assertThat(authService.getUserProfile("Bearer token")).isSameAs(cached);
+    }
+
+    @Test
+    void previousClaimsVersionFallsBackToLookup() {
+        when(jwtUtil.parse("token")).thenReturn(principal(1, Instant.now()));
+
+        assertThat(authService.getUserProfile("Bearer token")).isSameAs(cached);
+    }
+
+    @Test
+    void databaseModeAlwaysLooksUp() {
+        ReflectionTestUtils.setField(authService, "profileSource", "database");
+        when(jwtUtil.parse("token")).thenReturn(principal(2, Instant.now()));
+
+        assertThat(authService.getUserProfile("Bearer token")).isSameAs(cached);
+    }
+
+    private static JwtPrincipal principal(Integer claimsVersion, Instant issuedAt) {
+        return new JwtPrincipal("dealer01", "42", "dealer01@4thitek.vn", "Dealer One", "DEALER",
+                null, claimsVersion, null, "jti", issuedAt, issuedAt.plus(Duration.ofDays(1)));
+    }
+}
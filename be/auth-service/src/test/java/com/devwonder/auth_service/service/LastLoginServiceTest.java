@@ -0,0 +1,118 @@
+package com.devwonder.auth_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * The write-behind buffer must write each user's latest login exactly once and
+ * never lose one to a failed batch or a shutdown.
+ */
+@ExtendWith(MockitoExtension.class)
+class LastLoginServiceTest {
+
+    private static final LocalDateTime T1 = LocalDateTime.of(2026, 1, 1, 8, 0);
+    private static final LocalDateTime T2 = T1.plusMinutes(5);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> batchCaptor;
+
+    // Size-triggered flushes are queued here and run by the test
+    private final List<Runnable> submitted = new ArrayList<>();
+
+    private LastLoginService lastLoginService;
+
+    @BeforeEach
+    void setUp() {
+        lastLoginService = new LastLoginService(jdbcTemplate, submitted::add, 3, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void repeatedLoginsKeepOnlyTheLatestTimestamp() {
+        lastLoginService.recordLogin(1L, T2);
+        lastLoginService.recordLogin(1L, T1);
+        lastLoginService.recordLogin(2L, T1);
+
+        lastLoginService.scheduledFlush();
+
+        verify(jdbcTemplate).batchUpdate(anyString(), batchCaptor.capture());
+        assertThat(rows(batchCaptor.getValue())).containsExactlyInAnyOrderEntriesOf(Map.of(1L, T2, 2L, T1));
+    }
+
+    @Test
+    void reachingFlushSizeSchedulesOneFlush() {
+        lastLoginService.recordLogin(1L, T1);
+        lastLoginService.recordLogin(2L, T1);
+        assertThat(submitted).isEmpty();
+
+        lastLoginService.recordLogin(3L, T1);
+        lastLoginService.recordLogin(4L, T1);
+        assertThat(submitted).hasSize(1);
+        verifyNoInteractions(jdbcTemplate);
+
+        submitted.get(0).run();
+
+        verify(jdbcTemplate).batchUpdate(anyString(), batchCaptor.capture());
+        assertThat(rows(batchCaptor.getValue())).containsOnlyKeys(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void failedBatchIsRequeuedBehindNewerLogins() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+            .thenThrow(new DataAccessResourceFailureException("connection refused"))
+            .thenReturn(new int[]{1, 1});
+        lastLoginService.recordLogin(1L, T1);
+        lastLoginService.recordLogin(2L, T1);
+
+        lastLoginService.scheduledFlush();
+        // A newer login after the failure must not be overwritten by the requeued one
+        lastLoginService.recordLogin(1L, T2);
+        lastLoginService.scheduledFlush();
+
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batchCaptor.capture());
+        assertThat(rows(batchCaptor.getAllValues().get(1))).containsExactlyInAnyOrderEntriesOf(Map.of(1L, T2, 2L, T1));
+
+        lastLoginService.scheduledFlush();
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void shutdownDrainsBufferedLogins() {
+        lastLoginService.recordLogin(1L, T1);
+
+        lastLoginService.drain();
+
+        verify(jdbcTemplate).batchUpdate(anyString(), batchCaptor.capture());
+        assertThat(rows(batchCaptor.getValue())).containsExactlyEntriesOf(Map.of(1L, T1));
+    }
+
+    private static Map<Long, LocalDateTime> rows(List<Object[]> batch) {
+        Map<Long, LocalDateTime> rows = new HashMap<>();
+        for (Object[] row : batch) {
+            assertThat(rows.put((Long) row[1], ((Timestamp) row[0]).toLocalDateTime())).isNull();
+        }
+        return rows;
+    }
+}
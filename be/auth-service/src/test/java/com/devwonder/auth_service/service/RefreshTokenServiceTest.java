@@ -0,0 +1,126 @@
+package com.devwonder.auth_service.service;
+
+import com.devwonder.auth_service.dto.AuthResponse;
+import com.devwonder.auth_service.entity.UserSession;
+import com.devwonder.auth_service.repository.UserSessionRepository;
+import com.devwonder.auth_service.util.JwtPrincipal;
+import com.devwonder.auth_service.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Presenting a rotated refresh token again must revoke its whole family, and
+ * the revocation must survive the error returned to the client.
+ */
+@DataJpaTest(properties = {
+    // Skip application.properties and its config-server import
+    "spring.config.name=none",
+    "spring.cloud.config.enabled=false",
+    "spring.datasource.url=jdbc:h2:mem:sessions;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({AuthService.class, RefreshTokenService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private UserSessionRepository userSessionRepository;
+
+    @MockitoBean
+    private JwtUtil jwtUtil;
+
+    @MockitoBean
+    private UserCacheService userCacheService;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private AuthenticationManager authenticationManager;
+
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
+    @MockitoBean
+    private LastLoginService lastLoginService;
+
+    private AuthResponse.UserInfo user;
+
+    @BeforeEach
+    void setUp() {
+        userSessionRepository.deleteAll();
+
+        user = new AuthResponse.UserInfo();
+        user.setId(42L);
+        user.setUsername("dealer01");
+        user.setRole("USER");
+
+        // Tokens are "jti:family"; signing is not what this test is about
+        when(jwtUtil.getRefreshExpirationTime()).thenReturn(604_800_000L);
+        when(jwtUtil.generateRefreshToken(any(AuthResponse.UserInfo.class), anyString(), anyString()))
+            .thenAnswer(invocation -> invocation.getArgument(1) + ":" + invocation.getArgument(2));
+        when(jwtUtil.parse(anyString())).thenAnswer(invocation -> {
+            String[] parts = invocation.<String>getArgument(0).split(":");
+            return new JwtPrincipal("dealer01", "42", null, null, "USER", "refresh", 1, parts[1], parts[0],
+                Instant.now(), Instant.now().plusSeconds(600));
+        });
+        when(userCacheService.getByUsername("dealer01")).thenReturn(user);
+    }
+
+    @Test
+    void rotationRetiresThePresentedToken() {
+        String issued = refreshTokenService.issue(user);
+
+        String rotated = authService.refreshToken(issued).getRefreshToken();
+
+        assertThat(rotated).isNotEqualTo(issued);
+        assertThat(userSessionRepository.findById(RefreshTokenService.hash(jti(issued))).orElseThrow().getRotatedAt())
+            .isNotNull();
+        assertThat(userSessionRepository.findById(RefreshTokenService.hash(jti(rotated))).orElseThrow().getRotatedAt())
+            .isNull();
+    }
+
+    @Test
+    void reusingARotatedTokenRevokesTheFamily() {
+        String otherDevice = refreshTokenService.issue(user);
+        String issued = refreshTokenService.issue(user);
+        String rotated = authService.refreshToken(issued).getRefreshToken();
+
+        assertThatThrownBy(() -> authService.refreshToken(issued))
+            .hasMessage("Invalid refresh token");
+
+        // Both tokens of the replayed family are gone, the other login is untouched
+        assertThat(userSessionRepository.findAll())
+            .extracting(UserSession::getId)
+            .containsExactly(RefreshTokenService.hash(jti(otherDevice)));
+        assertThatThrownBy(() -> authService.refreshToken(rotated))
+            .hasMessage("Invalid refresh token");
+        assertThat(authService.refreshToken(otherDevice).getRefreshToken()).isNotNull();
+    }
+
+    private static String jti(String token) {
+        return token.split(":")[0];
+    }
+}
@@ -0,0 +1,88 @@
+package com.devwonder.auth_service.service;
+
+import com.devwonder.auth_service.repository.SigningKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A rotated key must be published before it signs anything, so gateways that
+ * fetched the key set recently can still verify every token issued.
+ */
+@DataJpaTest(properties = {
+    // Skip application.properties and its config-server import
+    "spring.config.name=none",
+    "spring.cloud.config.enabled=false",
+    "jwt.algorithm=RS256",
+    "jwt.rsa.key-size=1024",
+    "jwt.rsa.rotation-interval=86400000",
+    "jwt.rsa.activation-delay=3600000"
+})
+@Import(SigningKeyService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SigningKeyServiceTest {
+
+    @Autowired
+    private SigningKeyService signingKeyService;
+
+    @Autowired
+    private SigningKeyRepository signingKeyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        signingKeyRepository.deleteAll();
+        signingKeyService.init();
+    }
+
+    @Test
+    void firstKeySignsImmediately() {
+        assertThat(signingKeyService.activeKey()).isNotNull();
+        assertThat(publishedKids()).containsExactly(signingKeyService.activeKey().kid());
+    }
+
+    @Test
+    void rotatedKeyIsPublishedBeforeItSigns() {
+        String original = signingKeyService.activeKey().kid();
+        // Age the current key past the rotation interval
+        jdbcTemplate.update("UPDATE jwt_signing_keys SET created_at = DATEADD('DAY', -2, created_at)");
+
+        signingKeyService.refresh();
+
+        List<String> published = publishedKids();
+        assertThat(published).hasSize(2).contains(original);
+        String rotated = published.stream().filter(kid -> !kid.equals(original)).findFirst().orElseThrow();
+        assertThat(signingKeyService.activeKey().kid()).isEqualTo(original);
+        assertThat(signingKeyService.publicKey(rotated)).isNotNull();
+
+        // A pending key counts as the newest, so later refreshes do not create more
+        signingKeyService.refresh();
+        assertThat(signingKeyRepository.count()).isEqualTo(2);
+
+        // Once the activation delay has passed the new key takes over
+        jdbcTemplate.update("UPDATE jwt_signing_keys SET activates_at = DATEADD('SECOND', -1, CURRENT_TIMESTAMP) WHERE kid = ?",
+            rotated);
+        signingKeyService.refresh();
+
+        assertThat(signingKeyService.activeKey().kid()).isEqualTo(rotated);
+        assertThat(publishedKids()).containsExactlyInAnyOrder(original, rotated);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> publishedKids() {
+        List<Map<String, Object>> keys = (List<Map<String, Object>>) signingKeyService.jwks().get("keys");
+        return keys.stream().map(jwk -> (String) jwk.get("kid")).toList();
+    }
+}
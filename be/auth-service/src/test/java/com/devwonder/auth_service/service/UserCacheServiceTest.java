@@ -0,0 +1,138 @@
+package com.devwonder.auth_service.service;
+
+import com.devwonder.auth_service.dto.AuthResponse;
+import com.devwonder.auth_service.entity.User;
+import com.devwonder.auth_service.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Lookups fall through local cache, Redis and the database in that order, and
+ * an eviction on one replica drops the local copy on the others.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserCacheServiceTest {
+
+    private static final String KEY = "auth:user:dealer01";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private ObjectProvider<StringRedisTemplate> redisProvider;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(42L);
+        user.setUsername("dealer01");
+        user.setEmail("dealer01@4thitek.vn");
+        user.setFullName("Dealer One");
+        user.setRole(User.Role.USER);
+
+        lenient().when(redisProvider.getIfAvailable()).thenReturn(redisTemplate);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void localHitSkipsRedisAndDatabase() {
+        UserCacheService cache = newCache(false);
+        when(userRepository.findByUsername("dealer01")).thenReturn(Optional.of(user));
+
+        cache.getByUsername("dealer01");
+        AuthResponse.UserInfo second = cache.getByUsername("dealer01");
+
+        assertThat(second.getId()).isEqualTo(42L);
+        verify(userRepository, times(1)).findByUsername("dealer01");
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void redisHitSkipsDatabase() throws Exception {
+        UserCacheService cache = newCache(true);
+        when(valueOperations.get(KEY)).thenReturn(objectMapper.writeValueAsString(new AuthResponse.UserInfo(user)));
+
+        AuthResponse.UserInfo userInfo = cache.getByUsername("dealer01");
+
+        assertThat(userInfo.getEmail()).isEqualTo("dealer01@4thitek.vn");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void redisMissLoadsFromDatabaseAndFillsRedis() throws Exception {
+        UserCacheService cache = newCache(true);
+        when(userRepository.findByUsername("dealer01")).thenReturn(Optional.of(user));
+
+        cache.getByUsername("dealer01");
+
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(valueOperations).set(eq(KEY), json.capture(), eq(Duration.ofMillis(600_000)));
+        assertThat(objectMapper.readValue(json.getValue(), AuthResponse.UserInfo.class).getId()).isEqualTo(42L);
+    }
+
+    @Test
+    void unreachableRedisFallsBackToDatabase() {
+        UserCacheService cache = newCache(true);
+        when(valueOperations.get(KEY)).thenThrow(new RedisConnectionFailureException("connection refused"));
+        when(userRepository.findByUsername("dealer01")).thenReturn(Optional.of(user));
+
+        assertThat(cache.getByUsername("dealer01").getId()).isEqualTo(42L);
+    }
+
+    @Test
+    void evictionIsBroadcastToOtherReplicas() {
+        UserCacheService writer = newCache(true);
+        UserCacheService replica = newCache(true);
+        when(userRepository.findByUsername("dealer01")).thenReturn(Optional.of(user));
+        replica.getByUsername("dealer01");
+
+        writer.evict("dealer01");
+
+        verify(redisTemplate).delete(KEY);
+        ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(UserCacheService.EVICTION_CHANNEL), published.capture());
+
+        // Deliver the broadcast as the listener container would
+        replica.onMessage(new DefaultMessage(UserCacheService.EVICTION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+            published.getValue().getBytes(StandardCharsets.UTF_8)), null);
+        replica.getByUsername("dealer01");
+
+        verify(userRepository, times(2)).findByUsername("dealer01");
+        verify(valueOperations, times(2)).get(anyString());
+    }
+
+    private UserCacheService newCache(boolean redisEnabled) {
+        return new UserCacheService(userRepository, objectMapper, redisProvider, new SimpleMeterRegistry(),
+            10_000, 60_000, redisEnabled, 600_000);
+    }
+}
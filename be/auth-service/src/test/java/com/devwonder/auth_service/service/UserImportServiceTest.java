@@ -0,0 +1,163 @@
+package com.devwonder.auth_service.service;
+
+import com.devwonder.auth_service.dto.UserImportResult;
+import com.devwonder.auth_service.entity.User;
+import com.devwonder.auth_service.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Every bad row is reported by line and skipped without failing its neighbours,
+ * including rows that collide with existing accounts or with each other.
+ */
+@DataJpaTest(properties = {
+    // Skip application.properties and its config-server import
+    "spring.config.name=none",
+    "spring.cloud.config.enabled=false",
+    "spring.datasource.url=jdbc:h2:mem:import;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+// Keep the PostgreSQL-mode URL above: the import SQL uses ON CONFLICT and generate_series
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserImportServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private UserImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "{noop}" + invocation.getArgument(0));
+        // Batch of 2 so the files below span several chunks
+        importService = new UserImportService(jdbcTemplate, transactionManager, passwordEncoder, new ObjectMapper(),
+            Validation.buildDefaultValidatorFactory().getValidator(), Runnable::run, 2, 100, Set.of(User.Role.USER));
+    }
+
+    @Test
+    void importsCsvWithQuotedFields() throws Exception {
+        UserImportResult result = importCsv("""
+            Username,EMAIL,full_name,password,role
+            dealer01,dealer01@4thitek.vn,"Nguyen, Van \"\"A\"\"",secret01,user
+
+            dealer02,dealer02@4thitek.vn,Dealer Two,secret02,
+            dealer03,dealer03@4thitek.vn,Dealer Three,secret03,USER
+            """);
+
+        assertThat(result.getTotal()).isEqualTo(3);
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getErrors()).isEmpty();
+
+        User first = userRepository.findByUsername("dealer01").orElseThrow();
+        assertThat(first.getFullName()).isEqualTo("Nguyen, Van \"A\"");
+        assertThat(first.getPassword()).isEqualTo("{noop}secret01");
+        assertThat(first.getRole()).isEqualTo(User.Role.USER);
+    }
+
+    @Test
+    void reportsInvalidRowsByLineAndKeepsTheRest() throws Exception {
+        UserImportResult result = importNdjson("""
+            {"username":"dealer01","email":"dealer01@4thitek.vn","fullName":"Dealer One","password":"secret01"}
+            {"username":"dealer02","email":
+            {"username":"dealer03","email":"not-an-email","fullName":"Dealer Three","password":"secret03"}
+            {"username":"dealer04","email":"dealer04@4thitek.vn","fullName":"Dealer Four","password":"secret04","passwordHash":"{bcrypt}x"}
+            {"username":"dealer05","email":"dealer05@4thitek.vn","fullName":"Dealer Five","passwordHash":"$2a$10$x"}
+            {"username":"dealer06","email":"dealer06@4thitek.vn","fullName":"Dealer Six","password":"secret06","role":"ADMIN"}
+            {"username":"dealer07","email":"dealer07@4thitek.vn","fullName":"Dealer Seven","password":"secret07","role":"ROOT"}
+            {"username":"dealer08","email":"dealer08@4thitek.vn","fullName":"Dealer Eight","passwordHash":"{bcrypt}$2a$10$x"}
+            """);
+
+        assertThat(result.getTotal()).isEqualTo(8);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(6);
+        assertThat(result.getErrors())
+            .extracting(UserImportResult.RowError::getLine, UserImportResult.RowError::getMessage)
+            .containsExactly(
+                tuple(2, "Malformed row"),
+                tuple(3, "Email should be valid"),
+                tuple(4, "Exactly one of password or passwordHash is required"),
+                tuple(5, "passwordHash must start with one of [{bcrypt}, {argon2}]"),
+                tuple(6, "Role not allowed for import: ADMIN"),
+                tuple(7, "Unknown role: ROOT"));
+        assertThat(userRepository.findAll()).extracting(User::getUsername)
+            .containsExactlyInAnyOrder("dealer01", "dealer08");
+        assertThat(userRepository.findByUsername("dealer08").orElseThrow().getPassword()).isEqualTo("{bcrypt}$2a$10$x");
+    }
+
+    @Test
+    void countsConflictsWithExistingAndDuplicateRows() throws Exception {
+        importCsv("""
+            username,email,fullName,password
+            dealer01,dealer01@4thitek.vn,Dealer One,secret01
+            """);
+
+        UserImportResult result = importCsv("""
+            username,email,fullName,password
+            dealer01,other@4thitek.vn,Same Username,secret01
+            dealer02,dealer01@4thitek.vn,Same Email,secret02
+            dealer03,dealer03@4thitek.vn,Dealer Three,secret03
+            dealer03,dealer03b@4thitek.vn,Duplicate In File,secret03
+            """);
+
+        assertThat(result.getTotal()).isEqualTo(4);
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getErrors())
+            .extracting(UserImportResult.RowError::getLine, UserImportResult.RowError::getUsername)
+            .containsExactly(tuple(2, "dealer01"), tuple(3, "dealer02"), tuple(5, "dealer03"));
+        assertThat(result.getErrors()).extracting(UserImportResult.RowError::getMessage)
+            .containsOnly("Username or email is already registered");
+        assertThat(userRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void parsesCsvQuoting() {
+        assertThat(UserImportService.parseCsvLine("a,\"b,c\",\"d\"\"e\",,"))
+            .containsExactly("a", "b,c", "d\"e", "", "");
+        assertThatThrownBy(() -> UserImportService.parseCsvLine("a,\"b"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private UserImportResult importCsv(String body) throws Exception {
+        return importService.importUsers(stream(body), UserImportService.Format.CSV);
+    }
+
+    private UserImportResult importNdjson(String body) throws Exception {
+        return importService.importUsers(stream(body), UserImportService.Format.NDJSON);
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,135 @@
+package com.devwonder.auth_service.util;
+
+import com.devwonder.auth_service.exception.GlobalExceptionHandler;
+import com.devwonder.auth_service.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A saturated or stuck hashing pool must shed the request with a 503 rather
+ * than hold the request thread.
+ */
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private ThreadPoolExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        // One hashing thread and one queue slot, as PasswordHashingConfig builds it
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void saturatedPoolRejectsWithServiceUnavailable() throws Exception {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BlockingEncoder(), executor, 5000, meterRegistry);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> hashing = callers.submit(() -> encoder.encode("first"));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<String> queued = callers.submit(() -> encoder.encode("second"));
+            awaitQueued();
+
+            assertThatThrownBy(() -> encoder.matches("third", "{bcrypt}hash"))
+                .isInstanceOf(PasswordHashingRejectedException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+            assertThat(meterRegistry.counter("auth.password.hash.rejected").count()).isEqualTo(1.0);
+
+            // Requests already admitted still complete
+            release.countDown();
+            assertThat(hashing.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:first");
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:second");
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void slowHashTimesOutAndIsCancelled() throws Exception {
+        BlockingEncoder delegate = new BlockingEncoder();
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(delegate, executor, 100, meterRegistry);
+
+        assertThatThrownBy(() -> encoder.matches("secret", "{bcrypt}hash"))
+            .isInstanceOf(PasswordHashingRejectedException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(meterRegistry.counter("auth.password.hash.rejected").count()).isEqualTo(1.0);
+
+        // The hashing thread is interrupted instead of finishing work nobody waits for
+        assertThat(delegate.interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void rejectionMapsToServiceUnavailableWithRetryAfter() {
+        GlobalExceptionHandler handler = new GlobalExceptionHandler();
+        PasswordHashingRejectedException rejected = new PasswordHashingRejectedException("busy");
+
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> direct = handler.handlePasswordHashingRejected(rejected);
+        // Raised inside UserDetailsService, Spring Security wraps it
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> wrapped = handler.handleInternalAuthenticationService(
+            new InternalAuthenticationServiceException("busy", rejected));
+
+        for (ResponseEntity<GlobalExceptionHandler.ErrorResponse> response : List.of(direct, wrapped)) {
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+            assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+            assertThat(response.getBody().getStatus()).isEqualTo(503);
+        }
+    }
+
+    private void awaitQueued() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getQueue().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(executor.getQueue()).hasSize(1);
+    }
+
+    private class BlockingEncoder implements PasswordEncoder {
+
+        final CountDownLatch interrupted = new CountDownLatch(1);
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return true;
+        }
+
+        private void await() {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
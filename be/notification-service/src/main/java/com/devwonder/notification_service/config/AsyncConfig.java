@@ -1,49 +1,34 @@
 package com.devwonder.notification_service.config;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
-@EnableAsync
 @Slf4j
 public class AsyncConfig {
 
-    @Bean(name = "emailTaskExecutor")
-    public Executor emailTaskExecutor() {
+    // Workers of /api/email/batch; each holds one pooled SMTP session while it runs
+    @Bean(name = "emailBatchTaskExecutor")
+    public Executor emailBatchTaskExecutor(@Value("${mail.batch.max-concurrent-sessions:8}") int maxSessions) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxSessions);
+        executor.setMaxPoolSize(maxSessions);
         
-        // Core number of threads
-        executor.setCorePoolSize(5);
-        
-        // Maximum number of threads
-        executor.setMaxPoolSize(10);
-        
-        // Queue capacity
-        executor.setQueueCapacity(100);
-        
-        // Thread name prefix
-        executor.setThreadNamePrefix("EmailAsync-");
-        
-        // Rejection policy when queue is full
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
-        
-        // Wait for tasks to complete on shutdown
+        // No queue: a batch that finds every worker busy is sent from its request thread instead
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("EmailBatch-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
         executor.setWaitForTasksToCompleteOnShutdown(true);
-        
-        // Wait time for shutdown
         executor.setAwaitTerminationSeconds(60);
-        
-        // Initialize the executor
         executor.initialize();
         
-        log.info("Email async task executor initialized with core pool size: {}, max pool size: {}", 
-                executor.getCorePoolSize(), executor.getMaxPoolSize());
+        log.info("Email batch task executor initialized with pool size: {}", maxSessions);
         
         return executor;
     }
@@ -0,0 +1,69 @@
+package com.devwonder.notification_service.config;
+
+import com.devwonder.notification_service.exception.InvalidNotificationEventException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Error handling for the notification event listener; consumer settings
+ * (batch mode, concurrency, deserializers) come from spring.kafka.* properties.
+ */
+@Configuration
+@Slf4j
+public class KafkaConfig {
+
+    // Writes unreadable records back as their original bytes and everything else as JSON
+    @Bean
+    public KafkaTemplate<String, Object> deadLetterKafkaTemplate(KafkaProperties kafkaProperties) {
+        Map<Class<?>, Serializer<?>> serializers = new LinkedHashMap<>();
+        serializers.put(byte[].class, new ByteArraySerializer());
+        serializers.put(Object.class, new JsonSerializer<>());
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+            kafkaProperties.buildProducerProperties(null),
+            new StringSerializer(),
+            new DelegatingByTypeSerializer(serializers, true)
+        ));
+    }
+
+    @Bean
+    public DefaultErrorHandler notificationEventErrorHandler(
+            KafkaTemplate<String, Object> deadLetterKafkaTemplate,
+            @Value("${notification.events.dead-letter-topic:notification-events.DLT}") String deadLetterTopic,
+            @Value("${notification.events.max-retries:5}") int maxRetries,
+            @Value("${notification.events.retry-backoff:1s}") Duration retryBackoff) {
+
+        // Partition left to the producer, so the DLT does not need as many partitions as the source
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(deadLetterKafkaTemplate,
+            (record, e) -> new TopicPartition(deadLetterTopic, -1));
+
+        ExponentialBackOff backOff = new ExponentialBackOff(retryBackoff.toMillis(), 2.0);
+        backOff.setMaxInterval(30_000);
+        backOff.setMaxAttempts(maxRetries);
+
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler((record, e) -> {
+            log.warn("Sending notification event {}-{}@{} to {}: {}",
+                record.topic(), record.partition(), record.offset(), deadLetterTopic, e.getMessage());
+            recoverer.accept(record, e);
+        }, backOff);
+        errorHandler.addNotRetryableExceptions(InvalidNotificationEventException.class);
+        return errorHandler;
+    }
+}
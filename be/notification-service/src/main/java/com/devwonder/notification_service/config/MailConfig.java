@@ -1,14 +1,18 @@
 package com.devwonder.notification_service.config;
 
+import com.devwonder.notification_service.mail.PooledJavaMailSender;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 
+import java.time.Duration;
 import java.util.Properties;
 
 @Configuration
+@Slf4j
 public class MailConfig {
 
     @Value("${spring.mail.host}")
@@ -23,9 +27,27 @@ public class MailConfig {
     @Value("${spring.mail.password}")
     private String password;
 
+    // Reuse authenticated SMTP connections across sends
+    @Value("${mail.pool.enabled:true}")
+    private boolean poolEnabled;
+
+    @Value("${mail.pool.max-size:10}")
+    private int poolMaxSize;
+
+    @Value("${mail.pool.max-idle-time:60s}")
+    private Duration poolMaxIdleTime;
+
+    @Value("${mail.pool.borrow-timeout:10s}")
+    private Duration poolBorrowTimeout;
+
+    @Value("${mail.pool.max-messages-per-connection:100}")
+    private int poolMaxMessagesPerConnection;
+
     @Bean
     public JavaMailSender javaMailSender() {
-        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        JavaMailSenderImpl mailSender = poolEnabled
+                ? new PooledJavaMailSender(poolMaxSize, poolMaxIdleTime, poolBorrowTimeout, poolMaxMessagesPerConnection)
+                : new JavaMailSenderImpl();
         
         mailSender.setHost(host);
         mailSender.setPort(port);
@@ -39,6 +61,9 @@ public class MailConfig {
         props.put("mail.smtp.connectiontimeout", "5000");
         props.put("mail.smtp.timeout", "3000");
         props.put("mail.debug", "false");
+
+        log.info("Mail sender initialized for {}:{} with connection pool: {} (max size: {})",
+                host, port, poolEnabled, poolMaxSize);
         
         return mailSender;
     }
@@ -1,17 +1,24 @@
 package com.devwonder.notification_service.controller;
 
 import com.devwonder.notification_service.dto.AsyncEmailResponse;
+import com.devwonder.notification_service.dto.EmailBatchRequest;
 import com.devwonder.notification_service.dto.EmailRequest;
 import com.devwonder.notification_service.dto.EmailResponse;
+import com.devwonder.notification_service.dto.EmailStatusLookupRequest;
+import com.devwonder.notification_service.dto.EmailStatusResponse;
+import com.devwonder.notification_service.entity.EmailOutbox;
+import com.devwonder.notification_service.service.EmailBatchService;
+import com.devwonder.notification_service.service.EmailOutboxService;
 import com.devwonder.notification_service.service.EmailService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
+import java.io.IOException;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/email")
@@ -20,6 +27,8 @@ import java.util.concurrent.CompletableFuture;
 public class EmailController {
     
     private final EmailService emailService;
+    private final EmailBatchService emailBatchService;
+    private final EmailOutboxService emailOutboxService;
 
     @PostMapping("/send")
     public ResponseEntity<EmailResponse> sendEmail(@Valid @RequestBody EmailRequest request) {
@@ -29,26 +38,40 @@ public class EmailController {
 
     @PostMapping("/send-async")
     public ResponseEntity<AsyncEmailResponse> sendEmailAsync(@Valid @RequestBody EmailRequest request) {
-        String taskId = UUID.randomUUID().toString();
-        
-        // Submit async email task
-        CompletableFuture<EmailResponse> future = emailService.sendEmailAsync(request);
-        
-        // Handle completion asynchronously (optional logging)
-        future.whenComplete((result, throwable) -> {
-            if (throwable != null) {
-                log.error("Async email task {} failed: {}", taskId, throwable.getMessage());
-            } else {
-                log.info("Async email task {} completed with result: {}", taskId, result.isSuccess());
-            }
-        });
+        // Only records the email; outbox workers send it
+        EmailOutbox email = emailOutboxService.enqueue(request);
         
         AsyncEmailResponse response = AsyncEmailResponse.accepted(
             request.getTo(), 
             request.getSubject(), 
-            taskId
+            email.getTaskId()
         );
         
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Lifecycle of a task returned by /send-async, kept until the outbox purges it.
+     */
+    @GetMapping("/status/{taskId}")
+    public ResponseEntity<EmailStatusResponse> getStatus(@PathVariable String taskId) {
+        return ResponseEntity.ok(emailOutboxService.findStatus(taskId));
+    }
+
+    @PostMapping("/status")
+    public ResponseEntity<List<EmailStatusResponse>> getStatuses(@Valid @RequestBody EmailStatusLookupRequest request) {
+        return ResponseEntity.ok(emailOutboxService.findStatuses(request.getTaskIds()));
+    }
+
+    /**
+     * Streams one NDJSON line per message as it is sent, then a summary line. The
+     * summary reports messages not attempted if the batch stopped early.
+     * Written on the request thread so long batches are not cut off by the async request timeout.
+     */
+    @PostMapping(value = "/batch", produces = "application/x-ndjson")
+    public void sendBatch(@Valid @RequestBody EmailBatchRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        emailBatchService.sendBatch(request, response.getOutputStream());
+    }
 }
@@ -0,0 +1,32 @@
+package com.devwonder.notification_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of a batch response: the outcome of the message at {@code index}
+ * in the request. Lines arrive in completion order, not request order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmailBatchItemResult {
+
+    @Builder.Default
+    private String type = "result";
+
+    private int index;
+
+    private String to;
+
+    private boolean success;
+
+    private String messageId;
+
+    private String errorCode;
+
+    private String errorMessage;
+}
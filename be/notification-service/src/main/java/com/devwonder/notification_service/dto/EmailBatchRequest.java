@@ -0,0 +1,75 @@
+package com.devwonder.notification_service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Either a list of complete messages, or one template sent to a list of
+ * recipients with per-recipient {{placeholder}} values.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailBatchRequest {
+
+    @Valid
+    @Size(max = 50000, message = "A batch must not exceed 50000 messages")
+    private List<EmailRequest> messages;
+
+    @Valid
+    private Template template;
+
+    @Valid
+    @Size(max = 50000, message = "A batch must not exceed 50000 recipients")
+    private List<Recipient> recipients;
+
+    @AssertTrue(message = "Provide either messages, or a template and recipients")
+    public boolean isWellFormed() {
+        boolean hasMessages = messages != null && !messages.isEmpty();
+        boolean hasTemplate = template != null && recipients != null && !recipients.isEmpty();
+        return hasMessages != hasTemplate;
+    }
+
+    public int size() {
+        return messages != null && !messages.isEmpty() ? messages.size() : recipients.size();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Template {
+
+        @NotBlank(message = "Subject is required")
+        @Size(max = 255, message = "Subject must not exceed 255 characters")
+        private String subject;
+
+        @NotBlank(message = "Body is required")
+        @Size(max = 10000, message = "Body must not exceed 10000 characters")
+        private String body;
+
+        private String from;
+
+        private boolean isHtml = true;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Recipient {
+
+        @NotBlank(message = "Recipient email is required")
+        @Email(message = "Invalid email format")
+        private String to;
+
+        private Map<String, String> variables;
+    }
+}
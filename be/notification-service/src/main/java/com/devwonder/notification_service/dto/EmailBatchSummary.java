@@ -0,0 +1,35 @@
+package com.devwonder.notification_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Last line of a batch response.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmailBatchSummary {
+
+    @Builder.Default
+    private String type = "summary";
+
+    private String batchId;
+
+    private int total;
+
+    private int sent;
+
+    private int failed;
+
+    // Messages never sent because the batch stopped early
+    private int notAttempted;
+
+    // Why the batch stopped early, e.g. MAIL_CONFIG_ERROR; null when it ran to the end
+    private String errorCode;
+
+    private long durationMs;
+}
@@ -0,0 +1,19 @@
+package com.devwonder.notification_service.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailStatusLookupRequest {
+    
+    @NotEmpty(message = "At least one taskId is required")
+    @Size(max = 500, message = "At most 500 taskIds can be looked up at once")
+    private List<String> taskIds;
+}
@@ -0,0 +1,61 @@
+package com.devwonder.notification_service.dto;
+
+import com.devwonder.notification_service.entity.EmailOutbox;
+import com.devwonder.notification_service.entity.EmailStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmailStatusResponse {
+    
+    private String taskId;
+    
+    // QUEUED, SENDING, SENT, FAILED, or NOT_FOUND (unknown or already purged)
+    private String status;
+    
+    private String to;
+    
+    private String subject;
+    
+    private int attempts;
+    
+    private String errorCode;
+    
+    private String errorMessage;
+    
+    private LocalDateTime queuedAt;
+    
+    private LocalDateTime nextAttemptAt;
+    
+    private LocalDateTime sentAt;
+    
+    public static EmailStatusResponse of(EmailOutbox email) {
+        boolean waiting = email.getStatus() == EmailStatus.PENDING;
+        return EmailStatusResponse.builder()
+                .taskId(email.getTaskId())
+                .status(waiting ? "QUEUED" : email.getStatus().name())
+                .to(email.getTo())
+                .subject(email.getSubject())
+                .attempts(email.getAttempts())
+                .errorCode(email.getLastErrorCode())
+                .errorMessage(email.getLastError())
+                .queuedAt(email.getCreatedAt())
+                .nextAttemptAt(waiting ? email.getNextAttemptAt() : null)
+                .sentAt(email.getSentAt())
+                .build();
+    }
+    
+    public static EmailStatusResponse notFound(String taskId) {
+        return EmailStatusResponse.builder()
+                .taskId(taskId)
+                .status("NOT_FOUND")
+                .build();
+    }
+}
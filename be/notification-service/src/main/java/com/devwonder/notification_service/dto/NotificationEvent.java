@@ -0,0 +1,35 @@
+package com.devwonder.notification_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Message on the notification events topic. {@code type} selects a
+ * {@link NotificationTemplate}; a producer may instead send its own subject and
+ * body. {@code data} fills the {{placeholders}} of either.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationEvent {
+    
+    private String eventId;
+    
+    private String type;
+    
+    private String recipient;
+    
+    private String subject;
+    
+    private String body;
+    
+    private Map<String, String> data;
+    
+    private LocalDateTime occurredAt;
+}
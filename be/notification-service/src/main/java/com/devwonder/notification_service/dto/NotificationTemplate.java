@@ -0,0 +1,35 @@
+package com.devwonder.notification_service.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+@Getter
+@RequiredArgsConstructor
+public enum NotificationTemplate {
+    
+    USER_REGISTERED(
+        "Welcome to 4thitek, {{name}}",
+        "<p>Hi {{name}},</p><p>Your 4thitek account <b>{{username}}</b> has been created.</p>"
+    ),
+    
+    WARRANTY_CLAIM_CREATED(
+        "Warranty claim {{claimId}} received",
+        "<p>Hi {{name}},</p><p>We have received warranty claim <b>{{claimId}}</b> for {{product}}.</p>"
+    ),
+    
+    WARRANTY_CLAIM_UPDATED(
+        "Warranty claim {{claimId}} is now {{status}}",
+        "<p>Hi {{name}},</p><p>Your warranty claim <b>{{claimId}}</b> for {{product}} is now <b>{{status}}</b>.</p>"
+    );
+    
+    private final String subject;
+    
+    private final String body;
+    
+    public static Optional<NotificationTemplate> of(String type) {
+        return Arrays.stream(values()).filter(template -> template.name().equalsIgnoreCase(type)).findFirst();
+    }
+}
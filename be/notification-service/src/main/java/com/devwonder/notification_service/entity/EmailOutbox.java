@@ -0,0 +1,91 @@
+package com.devwonder.notification_service.entity;
+
+import com.devwonder.notification_service.dto.EmailRequest;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An email accepted by /send-async and not yet purged. Rows are claimed by
+ * outbox workers while PENDING and due, or while SENDING with an expired lease
+ * (the worker that held it died).
+ */
+@Entity
+@Table(name = "email_outbox", indexes = {
+    @Index(name = "idx_email_outbox_status_next_attempt", columnList = "status, next_attempt_at"),
+    @Index(name = "idx_email_outbox_created_at", columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class EmailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", length = 36, nullable = false, unique = true, updatable = false)
+    private String taskId;
+
+    @Column(name = "recipient", nullable = false)
+    private String to;
+
+    @Column(name = "subject", nullable = false)
+    private String subject;
+
+    @Column(name = "body", nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Column(name = "sender")
+    private String from;
+
+    @Column(name = "html", nullable = false)
+    private boolean html;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 16, nullable = false)
+    private EmailStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "last_error_code", length = 32)
+    private String lastErrorCode;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    public static EmailOutbox pending(EmailRequest request, LocalDateTime now) {
+        EmailOutbox email = new EmailOutbox();
+        email.taskId = UUID.randomUUID().toString();
+        email.to = request.getTo();
+        email.subject = request.getSubject();
+        email.body = request.getBody();
+        email.from = request.getFrom();
+        email.html = request.isHtml();
+        email.status = EmailStatus.PENDING;
+        email.nextAttemptAt = now;
+        email.createdAt = now;
+        return email;
+    }
+
+    public EmailRequest toRequest() {
+        return new EmailRequest(to, subject, body, from, html);
+    }
+}
@@ -0,0 +1,8 @@
+package com.devwonder.notification_service.entity;
+
+public enum EmailStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
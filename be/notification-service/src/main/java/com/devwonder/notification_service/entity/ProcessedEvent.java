@@ -0,0 +1,27 @@
+package com.devwonder.notification_service.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Id of a notification event that has already produced its email. Kept for
+ * as long as the topic retains records, which bounds how late a redelivery can come.
+ */
+@Entity
+@Table(name = "processed_events", indexes = {
+    @Index(name = "idx_processed_event_processed_at", columnList = "processed_at")
+})
+@Getter
+@NoArgsConstructor
+public class ProcessedEvent {
+
+    @Id
+    @Column(name = "event_id", length = 100)
+    private String eventId;
+
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+}
@@ -0,0 +1,15 @@
+package com.devwonder.notification_service.exception;
+
+public class EmailTaskNotFoundException extends RuntimeException {
+    
+    private final String errorCode;
+    
+    public EmailTaskNotFoundException(String taskId) {
+        super("No email task found with id " + taskId);
+        this.errorCode = "TASK_NOT_FOUND";
+    }
+    
+    public String getErrorCode() {
+        return errorCode;
+    }
+}
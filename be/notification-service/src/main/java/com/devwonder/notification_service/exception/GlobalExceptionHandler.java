@@ -49,6 +49,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
     }
 
+    @ExceptionHandler(EmailTaskNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleEmailTaskNotFoundException(
+            EmailTaskNotFoundException ex, WebRequest request) {
+        
+        ErrorResponse errorResponse = ErrorResponse.of(
+            ex.getMessage(),
+            ex.getErrorCode(),
+            request.getDescription(false).replace("uri=", ""),
+            HttpStatus.NOT_FOUND.value()
+        );
+        
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationException(
             MethodArgumentNotValidException ex, WebRequest request) {
@@ -0,0 +1,19 @@
+package com.devwonder.notification_service.exception;
+
+/**
+ * A notification event that can never be turned into an email (missing id or
+ * recipient, unknown type). Not retried; the record goes to the dead-letter topic.
+ */
+public class InvalidNotificationEventException extends RuntimeException {
+    
+    private final String errorCode;
+    
+    public InvalidNotificationEventException(String message) {
+        super(message);
+        this.errorCode = "INVALID_EVENT";
+    }
+    
+    public String getErrorCode() {
+        return errorCode;
+    }
+}
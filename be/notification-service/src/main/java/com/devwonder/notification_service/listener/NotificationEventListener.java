@@ -0,0 +1,51 @@
+package com.devwonder.notification_service.listener;
+
+import com.devwonder.notification_service.dto.NotificationEvent;
+import com.devwonder.notification_service.exception.InvalidNotificationEventException;
+import com.devwonder.notification_service.service.NotificationEventService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Consumes notification events in batches. Each event is committed to the
+ * database on its own, so when one fails the error handler commits the offsets
+ * before it, retries it, and finally sends it to the dead-letter topic.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationEventListener {
+
+    private final NotificationEventService notificationEventService;
+
+    @KafkaListener(
+        topics = "${notification.events.topic:notification-events}",
+        groupId = "${spring.kafka.consumer.group-id:notification-service}",
+        autoStartup = "${notification.events.enabled:true}"
+    )
+    public void onEvents(List<ConsumerRecord<String, NotificationEvent>> records) {
+        int queued = 0;
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, NotificationEvent> record = records.get(i);
+            try {
+                if (record.value() == null) {
+                    // Undeserializable payload; the dead-letter record keeps the original bytes
+                    throw new InvalidNotificationEventException(
+                        "Unreadable notification event at " + record.topic() + "-" + record.partition() + "@" + record.offset());
+                }
+                if (notificationEventService.handle(record.value())) {
+                    queued++;
+                }
+            } catch (RuntimeException e) {
+                throw new BatchListenerFailedException(e.getMessage(), e, i);
+            }
+        }
+        log.debug("Queued {} email(s) from {} notification event(s)", queued, records.size());
+    }
+}
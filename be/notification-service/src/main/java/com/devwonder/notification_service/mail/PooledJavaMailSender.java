@@ -0,0 +1,211 @@
+package com.devwonder.notification_service.mail;
+
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.pool2.BasePooledObjectFactory;
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link JavaMailSenderImpl} that keeps connected, authenticated SMTP transports
+ * in a pool instead of opening one per send.
+ *
+ * Transports are checked with a NOOP when borrowed, closed after sitting idle
+ * for {@code maxIdleTime}, and retired after {@code maxMessagesPerConnection}
+ * messages since many servers cap messages per session. A send that fails
+ * because the connection dropped is retried once on a fresh transport.
+ */
+@Slf4j
+public class PooledJavaMailSender extends JavaMailSenderImpl implements DisposableBean {
+
+    private static final String HEADER_MESSAGE_ID = "Message-ID";
+
+    private final GenericObjectPool<PooledTransport> pool;
+
+    public PooledJavaMailSender(int maxSize, Duration maxIdleTime, Duration borrowTimeout, int maxMessagesPerConnection) {
+        GenericObjectPoolConfig<PooledTransport> config = new GenericObjectPoolConfig<>();
+        config.setMaxTotal(maxSize);
+        config.setMaxIdle(maxSize);
+        config.setMinIdle(0);
+        config.setMaxWait(borrowTimeout);
+        config.setTestOnBorrow(true);
+        // Most recently used first, so surplus transports go idle and get evicted
+        config.setLifo(true);
+        config.setMinEvictableIdleDuration(maxIdleTime);
+        config.setTimeBetweenEvictionRuns(maxIdleTime.dividedBy(2));
+        config.setNumTestsPerEvictionRun(maxSize);
+        config.setJmxEnabled(false);
+        this.pool = new GenericObjectPool<>(new TransportFactory(maxMessagesPerConnection), config);
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+
+        for (int i = 0; i < mimeMessages.length; i++) {
+            MimeMessage mimeMessage = mimeMessages[i];
+            try {
+                prepare(mimeMessage);
+                sendWithRetry(mimeMessage);
+            } catch (MailAuthenticationException e) {
+                throw e;
+            } catch (Exception e) {
+                Object original = (originalMessages != null ? originalMessages[i] : mimeMessage);
+                failedMessages.put(original, e);
+            }
+        }
+
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    private void sendWithRetry(MimeMessage mimeMessage) throws Exception {
+        try {
+            sendOnce(mimeMessage);
+        } catch (ConnectionLostException e) {
+            log.debug("SMTP connection lost while sending, retrying on a new connection: {}", e.getCause().getMessage());
+            try {
+                sendOnce(mimeMessage);
+            } catch (ConnectionLostException retryFailure) {
+                throw retryFailure.getCause();
+            }
+        }
+    }
+
+    private void sendOnce(MimeMessage mimeMessage) throws Exception {
+        PooledTransport transport = borrow();
+        boolean reusable = false;
+        try {
+            Address[] addresses = mimeMessage.getAllRecipients();
+            transport.transport.sendMessage(mimeMessage, addresses != null ? addresses : new Address[0]);
+            transport.sent++;
+            reusable = true;
+        } catch (SendFailedException e) {
+            // Rejected recipients; the session itself is still usable
+            reusable = transport.transport.isConnected();
+            throw e;
+        } catch (MessagingException e) {
+            throw new ConnectionLostException(e);
+        } finally {
+            if (reusable) {
+                pool.returnObject(transport);
+            } else {
+                pool.invalidateObject(transport);
+            }
+        }
+    }
+
+    private PooledTransport borrow() throws Exception {
+        try {
+            return pool.borrowObject();
+        } catch (AuthenticationFailedException e) {
+            throw new MailAuthenticationException(e);
+        }
+    }
+
+    // Same preparation as JavaMailSenderImpl#doSend
+    private static void prepare(MimeMessage mimeMessage) throws MessagingException {
+        if (mimeMessage.getSentDate() == null) {
+            mimeMessage.setSentDate(new Date());
+        }
+        String messageId = mimeMessage.getMessageID();
+        mimeMessage.saveChanges();
+        if (messageId != null) {
+            // Preserve explicitly specified message id...
+            mimeMessage.setHeader(HEADER_MESSAGE_ID, messageId);
+        }
+    }
+
+    public long getCreatedConnections() {
+        return pool.getCreatedCount();
+    }
+
+    public int getActiveConnections() {
+        return pool.getNumActive();
+    }
+
+    public int getIdleConnections() {
+        return pool.getNumIdle();
+    }
+
+    @Override
+    public void destroy() {
+        pool.close();
+    }
+
+    private static final class PooledTransport {
+
+        final Transport transport;
+        int sent;
+
+        PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+
+    private static final class ConnectionLostException extends Exception {
+
+        ConnectionLostException(MessagingException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized MessagingException getCause() {
+            return (MessagingException) super.getCause();
+        }
+    }
+
+    private final class TransportFactory extends BasePooledObjectFactory<PooledTransport> {
+
+        private final int maxMessagesPerConnection;
+
+        TransportFactory(int maxMessagesPerConnection) {
+            this.maxMessagesPerConnection = maxMessagesPerConnection;
+        }
+
+        @Override
+        public PooledTransport create() throws MessagingException {
+            // Connects and authenticates with the sender's host, port and credentials
+            return new PooledTransport(connectTransport());
+        }
+
+        @Override
+        public PooledObject<PooledTransport> wrap(PooledTransport transport) {
+            return new DefaultPooledObject<>(transport);
+        }
+
+        // For SMTP, isConnected() sends a NOOP, so a connection closed by the server is caught here
+        @Override
+        public boolean validateObject(PooledObject<PooledTransport> pooled) {
+            PooledTransport transport = pooled.getObject();
+            return transport.sent < maxMessagesPerConnection && transport.transport.isConnected();
+        }
+
+        @Override
+        public void destroyObject(PooledObject<PooledTransport> pooled) {
+            try {
+                pooled.getObject().transport.close();
+            } catch (MessagingException e) {
+                log.debug("Failed to close SMTP connection: {}", e.getMessage());
+            }
+        }
+    }
+}
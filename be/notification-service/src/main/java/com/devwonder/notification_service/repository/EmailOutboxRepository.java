@@ -0,0 +1,38 @@
+package com.devwonder.notification_service.repository;
+
+import com.devwonder.notification_service.entity.EmailOutbox;
+import com.devwonder.notification_service.entity.EmailStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    // Rows locked by another worker's open claim are skipped rather than waited on
+    @Query(value = "SELECT * FROM email_outbox"
+            + " WHERE (status = 'PENDING' AND next_attempt_at <= :now)"
+            + " OR (status = 'SENDING' AND locked_until < :now)"
+            + " ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EmailOutbox> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    Optional<EmailOutbox> findByTaskId(String taskId);
+
+    List<EmailOutbox> findByTaskIdIn(Collection<String> taskIds);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = com.devwonder.notification_service.entity.EmailStatus.SENT,"
+            + " e.sentAt = :now, e.lockedUntil = null, e.lastErrorCode = null, e.lastError = null WHERE e.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM EmailOutbox e WHERE e.status IN :statuses AND e.createdAt < :before")
+    int deleteFinishedBefore(@Param("statuses") Collection<EmailStatus> statuses, @Param("before") LocalDateTime before);
+}
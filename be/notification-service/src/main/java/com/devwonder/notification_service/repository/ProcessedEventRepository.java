@@ -0,0 +1,28 @@
+package com.devwonder.notification_service.repository;
+
+import com.devwonder.notification_service.entity.ProcessedEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, String> {
+
+    /**
+     * Returns 0 when the event was already recorded. Two consumers racing on the
+     * same id (only possible around a rebalance) end with a primary key violation
+     * for one of them; its retry then sees the row and returns 0.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO processed_events (event_id, processed_at) SELECT :eventId, :now"
+            + " WHERE NOT EXISTS (SELECT 1 FROM processed_events WHERE event_id = :eventId)", nativeQuery = true)
+    int insertIfAbsent(@Param("eventId") String eventId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM ProcessedEvent e WHERE e.processedAt < :before")
+    int deleteProcessedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,240 @@
+package com.devwonder.notification_service.service;
+
+import com.devwonder.notification_service.dto.EmailBatchItemResult;
+import com.devwonder.notification_service.dto.EmailBatchRequest;
+import com.devwonder.notification_service.dto.EmailBatchSummary;
+import com.devwonder.notification_service.dto.EmailRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sends a batch of emails over a few SMTP sessions and streams one status line
+ * per message as NDJSON, followed by a summary line.
+ *
+ * {@code mail.batch.sessions} workers take messages from the batch in turn.
+ * With the pooled mail sender each worker keeps reusing the same connection,
+ * so a batch of tens of thousands costs a handful of SMTP handshakes. When
+ * every worker is busy with other batches, the request thread sends the batch
+ * itself, one message per status line. If the client disconnects, no new
+ * messages are picked up. If the SMTP server rejects the credentials, the
+ * batch stops rather than failing the login once per recipient (which gets
+ * relay accounts locked), and the summary counts the rest as not attempted.
+ */
+@Service
+@Slf4j
+public class EmailBatchService {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{\\s*([\\w.-]+)\\s*}}");
+    private static final int FLUSH_EVERY = 100;
+    private static final String MAIL_CONFIG_ERROR = "MAIL_CONFIG_ERROR";
+
+    // Queued by each worker as it exits, after all of its results
+    private static final EmailBatchItemResult WORKER_DONE = new EmailBatchItemResult();
+
+    private final EmailService emailService;
+    private final JavaMailSender mailSender;
+    private final ObjectMapper objectMapper;
+    private final Executor batchExecutor;
+    private final int sessions;
+
+    public EmailBatchService(EmailService emailService,
+                             JavaMailSender mailSender,
+                             ObjectMapper objectMapper,
+                             @Qualifier("emailBatchTaskExecutor") Executor batchExecutor,
+                             @Value("${mail.batch.sessions:4}") int sessions) {
+        this.emailService = emailService;
+        this.mailSender = mailSender;
+        this.objectMapper = objectMapper;
+        this.batchExecutor = batchExecutor;
+        this.sessions = sessions;
+    }
+
+    public EmailBatchSummary sendBatch(EmailBatchRequest request, OutputStream out) throws IOException {
+        String batchId = UUID.randomUUID().toString();
+        int total = request.size();
+        long startedAt = System.currentTimeMillis();
+        log.info("Sending email batch {} with {} message(s) over {} session(s)", batchId, total, Math.min(sessions, total));
+
+        AtomicInteger next = new AtomicInteger();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        BlockingQueue<EmailBatchItemResult> results = new LinkedBlockingQueue<>();
+        Runnable worker = () -> {
+            try {
+                int index;
+                while (!cancelled.get() && (index = next.getAndIncrement()) < total) {
+                    EmailBatchItemResult result = null;
+                    try {
+                        result = send(index, messageAt(request, index));
+                    } finally {
+                        // Even if the worker dies, its claimed index gets a line
+                        results.add(result != null ? result : EmailBatchItemResult.builder()
+                                .index(index).errorCode("UNKNOWN_ERROR").errorMessage("Worker failed").build());
+                    }
+                    if (MAIL_CONFIG_ERROR.equals(result.getErrorCode())) {
+                        cancelled.set(true);
+                    }
+                }
+            } finally {
+                results.add(WORKER_DONE);
+            }
+        };
+        int workers = 0;
+        for (int i = 0; i < Math.min(sessions, total); i++) {
+            try {
+                batchExecutor.execute(worker);
+                workers++;
+            } catch (RejectedExecutionException e) {
+                // Executor saturated by other batches; the workers already started take over
+                break;
+            }
+        }
+
+        int sent = 0;
+        int failed = 0;
+        int written = 0;
+        int finished = 0;
+        try {
+            while (written < total) {
+                EmailBatchItemResult result;
+                if (workers == 0) {
+                    if (cancelled.get()) {
+                        break;
+                    }
+                    // No worker free: send on this thread, streaming each result as it goes
+                    out.flush();
+                    int index = next.getAndIncrement();
+                    result = send(index, messageAt(request, index));
+                } else {
+                    result = results.poll();
+                    if (result == null) {
+                        out.flush();
+                        result = results.take();
+                    }
+                    if (result == WORKER_DONE) {
+                        // Once every worker is gone, nothing else will arrive
+                        if (++finished == workers) {
+                            break;
+                        }
+                        continue;
+                    }
+                }
+                if (MAIL_CONFIG_ERROR.equals(result.getErrorCode())) {
+                    cancelled.set(true);
+                }
+                if (result.isSuccess()) {
+                    sent++;
+                } else {
+                    failed++;
+                }
+                writeLine(out, result);
+                if (written++ % FLUSH_EVERY == 0) {
+                    out.flush();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelled.set(true);
+            throw new IOException("Interrupted while sending email batch " + batchId, e);
+        } catch (IOException e) {
+            cancelled.set(true);
+            log.warn("Client went away during email batch {}, stopping after {} sent", batchId, sent);
+            throw e;
+        }
+
+        EmailBatchSummary summary = EmailBatchSummary.builder()
+                .batchId(batchId)
+                .total(total)
+                .sent(sent)
+                .failed(failed)
+                .notAttempted(total - written)
+                .errorCode(cancelled.get() ? MAIL_CONFIG_ERROR : written < total ? "UNKNOWN_ERROR" : null)
+                .durationMs(System.currentTimeMillis() - startedAt)
+                .build();
+        writeLine(out, summary);
+        out.flush();
+        if (summary.getNotAttempted() > 0) {
+            log.warn("Email batch {} stopped early ({}): {} sent, {} failed, {} not attempted", batchId,
+                    summary.getErrorCode(), sent, failed, summary.getNotAttempted());
+        } else {
+            log.info("Email batch {} finished: {} sent, {} failed in {} ms", batchId, sent, failed, summary.getDurationMs());
+        }
+        return summary;
+    }
+
+    private EmailBatchItemResult send(int index, EmailRequest request) {
+        EmailBatchItemResult.EmailBatchItemResultBuilder result = EmailBatchItemResult.builder()
+                .index(index)
+                .to(request.getTo());
+        try {
+            MimeMessage message = emailService.createMessage(request);
+            mailSender.send(message);
+            return result.success(true).messageId(message.getMessageID()).build();
+        } catch (MailAuthenticationException e) {
+            log.error("Mail authentication failed during batch: {}", e.getMessage());
+            return result.errorCode(MAIL_CONFIG_ERROR).errorMessage(e.getMessage()).build();
+        } catch (MailException e) {
+            log.debug("Failed to send batch email to {}: {}", request.getTo(), e.getMessage());
+            return result.errorCode("SEND_FAILED").errorMessage(e.getMessage()).build();
+        } catch (MessagingException e) {
+            return result.errorCode("MESSAGING_ERROR").errorMessage(e.getMessage()).build();
+        } catch (RuntimeException e) {
+            log.error("Unexpected error sending batch email to {}", request.getTo(), e);
+            return result.errorCode("UNKNOWN_ERROR").errorMessage(e.getMessage()).build();
+        }
+    }
+
+    private static EmailRequest messageAt(EmailBatchRequest request, int index) {
+        if (request.getMessages() != null && !request.getMessages().isEmpty()) {
+            return request.getMessages().get(index);
+        }
+        EmailBatchRequest.Template template = request.getTemplate();
+        EmailBatchRequest.Recipient recipient = request.getRecipients().get(index);
+        Map<String, String> variables = recipient.getVariables() != null ? recipient.getVariables() : Map.of();
+        return new EmailRequest(
+            recipient.getTo(),
+            render(template.getSubject(), variables, false),
+            render(template.getBody(), variables, template.isHtml()),
+            template.getFrom(),
+            template.isHtml()
+        );
+    }
+
+    // Replaces {{name}} with the recipient's value; unknown placeholders become empty
+    static String render(String text, Map<String, String> variables, boolean html) {
+        Matcher matcher = PLACEHOLDER.matcher(text);
+        StringBuilder rendered = new StringBuilder(text.length() + 64);
+        while (matcher.find()) {
+            String value = variables.getOrDefault(matcher.group(1), "");
+            matcher.appendReplacement(rendered, Matcher.quoteReplacement(html ? HtmlUtils.htmlEscape(value) : value));
+        }
+        matcher.appendTail(rendered);
+        return rendered.toString();
+    }
+
+    private void writeLine(OutputStream out, Object line) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(line));
+        out.write('\n');
+    }
+}
@@ -0,0 +1,161 @@
+package com.devwonder.notification_service.service;
+
+import com.devwonder.notification_service.entity.EmailOutbox;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@code mail.outbox.workers} threads that claim due emails from the
+ * outbox and send them. Idle workers poll every {@code mail.outbox.poll-interval},
+ * and are woken right away when this pod queues an email.
+ */
+@Component
+@Slf4j
+public class EmailOutboxDispatcher implements SmartLifecycle {
+
+    private final EmailOutboxService outboxService;
+    private final EmailService emailService;
+    private final JavaMailSender mailSender;
+    private final int workers;
+    private final int batchSize;
+    private final Duration pollInterval;
+
+    private final Semaphore wakeUp = new Semaphore(0);
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    public EmailOutboxDispatcher(EmailOutboxService outboxService,
+                                 EmailService emailService,
+                                 JavaMailSender mailSender,
+                                 @Value("${mail.outbox.workers:2}") int workers,
+                                 @Value("${mail.outbox.batch-size:20}") int batchSize,
+                                 @Value("${mail.outbox.poll-interval:1s}") Duration pollInterval) {
+        this.outboxService = outboxService;
+        this.emailService = emailService;
+        this.mailSender = mailSender;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+    }
+
+    @TransactionalEventListener
+    public void onEmailQueued(EmailOutboxService.EmailQueuedEvent event) {
+        if (wakeUp.availablePermits() < workers) {
+            wakeUp.release();
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            Thread thread = new Thread(this::run, "EmailOutbox-" + (i + 1));
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        log.info("Email outbox dispatcher started with {} worker(s)", workers);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        wakeUp.release(threads.size());
+        for (Thread thread : threads) {
+            try {
+                // A worker finishes its current claim; unsent rows are reclaimed after the lease
+                thread.join(pollInterval.toMillis() + 10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        threads.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            int processed = 0;
+            try {
+                processed = dispatchOnce();
+            } catch (RuntimeException e) {
+                log.warn("Email outbox worker failed to claim emails: {}", e.getMessage());
+            }
+            if (processed < batchSize) {
+                try {
+                    wakeUp.tryAcquire(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    int dispatchOnce() {
+        List<EmailOutbox> claimed = outboxService.claim(batchSize);
+        for (EmailOutbox email : claimed) {
+            if (email.getLockedUntil() != null && email.getLockedUntil().isBefore(LocalDateTime.now())) {
+                // The lease ran out while earlier emails were sending; another worker may own it now
+                continue;
+            }
+            if (send(email)) {
+                // Recorded per message, so a crash later in the batch does not resend it
+                outboxService.markSent(List.of(email.getId()));
+            }
+        }
+        return claimed.size();
+    }
+
+    private boolean send(EmailOutbox email) {
+        try {
+            mailSender.send(emailService.createMessage(email.toRequest()));
+            return true;
+        } catch (MessagingException e) {
+            // The message could not even be built (malformed address); retrying will not help
+            outboxService.markFailed(email, "MESSAGING_ERROR", e.getMessage(), true);
+        } catch (MailAuthenticationException e) {
+            outboxService.markFailed(email, "MAIL_CONFIG_ERROR", e.getMessage(), false);
+        } catch (MailException e) {
+            boolean rejected = isRejectedRecipient(e);
+            outboxService.markFailed(email, rejected ? "RECIPIENT_REJECTED" : "SEND_FAILED", e.getMessage(), rejected);
+        } catch (RuntimeException e) {
+            log.error("Unexpected error sending outbox email {}", email.getTaskId(), e);
+            outboxService.markFailed(email, "UNKNOWN_ERROR", e.getMessage(), false);
+        }
+        return false;
+    }
+
+    private static boolean isRejectedRecipient(MailException e) {
+        if (e instanceof MailSendException sendException) {
+            for (Exception failure : sendException.getFailedMessages().values()) {
+                if (failure instanceof SendFailedException rejected
+                        && rejected.getInvalidAddresses() != null && rejected.getInvalidAddresses().length > 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
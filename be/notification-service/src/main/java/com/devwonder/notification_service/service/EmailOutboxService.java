@@ -0,0 +1,165 @@
+package com.devwonder.notification_service.service;
+
+import com.devwonder.notification_service.dto.EmailRequest;
+import com.devwonder.notification_service.dto.EmailStatusResponse;
+import com.devwonder.notification_service.entity.EmailOutbox;
+import com.devwonder.notification_service.entity.EmailStatus;
+import com.devwonder.notification_service.exception.EmailTaskNotFoundException;
+import com.devwonder.notification_service.repository.EmailOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Durable queue for /send-async, kept in the email_outbox table.
+ *
+ * Enqueueing is a single insert, so the API answers in the same time however
+ * slow SMTP is, and queued mail survives a pod restart. Workers claim due rows
+ * with {@code FOR UPDATE SKIP LOCKED}, so replicas never hand out the same row
+ * twice, and hold them under a lease. A worker that dies mid-send leaves its
+ * rows to be claimed again when the lease runs out, so delivery is at least once.
+ */
+@Service
+@Slf4j
+public class EmailOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository outboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    private final Duration retention;
+
+    public EmailOutboxService(EmailOutboxRepository outboxRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${mail.outbox.lease:2m}") Duration lease,
+                              @Value("${mail.outbox.max-attempts:8}") int maxAttempts,
+                              @Value("${mail.outbox.retry-backoff:30s}") Duration retryBackoff,
+                              @Value("${mail.outbox.max-retry-backoff:1h}") Duration maxRetryBackoff,
+                              @Value("${mail.outbox.retention:7d}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.eventPublisher = eventPublisher;
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+        this.retention = retention;
+    }
+
+    @Transactional
+    public EmailOutbox enqueue(EmailRequest request) {
+        EmailOutbox email = outboxRepository.save(EmailOutbox.pending(request, LocalDateTime.now()));
+        // Wakes this pod's workers once the row is committed; other pods find it on their next poll
+        eventPublisher.publishEvent(new EmailQueuedEvent(email.getTaskId()));
+        return email;
+    }
+
+    /**
+     * Claims up to {@code limit} due emails for the calling worker. The row locks
+     * are released on return; the lease in locked_until keeps other workers off.
+     */
+    @Transactional
+    public List<EmailOutbox> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> claimed = outboxRepository.lockDue(now, limit);
+        for (EmailOutbox email : claimed) {
+            email.setStatus(EmailStatus.SENDING);
+            email.setLockedUntil(now.plus(lease));
+            email.setAttempts(email.getAttempts() + 1);
+        }
+        return claimed;
+    }
+
+    @Transactional
+    public void markSent(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            outboxRepository.markSent(ids, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Schedules another attempt with exponential backoff, or gives up when the
+     * failure is permanent or the email is out of attempts.
+     */
+    @Transactional
+    public void markFailed(EmailOutbox claimed, String errorCode, String error, boolean permanent) {
+        EmailOutbox email = outboxRepository.findById(claimed.getId()).orElse(null);
+        if (email == null) {
+            return;
+        }
+        email.setLockedUntil(null);
+        email.setLastErrorCode(errorCode);
+        email.setLastError(error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+
+        if (permanent || email.getAttempts() >= maxAttempts) {
+            email.setStatus(EmailStatus.FAILED);
+            log.warn("Giving up on email {} to {} after {} attempt(s): {}",
+                email.getTaskId(), email.getTo(), email.getAttempts(), error);
+            return;
+        }
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(email.getAttempts() - 1, 20));
+        if (backoff.compareTo(maxRetryBackoff) > 0) {
+            backoff = maxRetryBackoff;
+        }
+        email.setStatus(EmailStatus.PENDING);
+        email.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+        log.info("Email {} to {} failed (attempt {}), retrying in {}s: {}",
+            email.getTaskId(), email.getTo(), email.getAttempts(), backoff.toSeconds(), error);
+    }
+
+    @Transactional(readOnly = true)
+    public EmailStatusResponse findStatus(String taskId) {
+        return outboxRepository.findByTaskId(taskId)
+            .map(EmailStatusResponse::of)
+            .orElseThrow(() -> new EmailTaskNotFoundException(taskId));
+    }
+
+    /**
+     * One entry per distinct requested id, in request order; ids that are
+     * unknown or already purged come back as NOT_FOUND.
+     */
+    @Transactional(readOnly = true)
+    public List<EmailStatusResponse> findStatuses(List<String> taskIds) {
+        Set<String> distinct = new LinkedHashSet<>(taskIds);
+        Map<String, EmailOutbox> found = new HashMap<>();
+        for (EmailOutbox email : outboxRepository.findByTaskIdIn(distinct)) {
+            found.put(email.getTaskId(), email);
+        }
+        List<EmailStatusResponse> statuses = new ArrayList<>(distinct.size());
+        for (String taskId : distinct) {
+            EmailOutbox email = found.get(taskId);
+            statuses.add(email != null ? EmailStatusResponse.of(email) : EmailStatusResponse.notFound(taskId));
+        }
+        return statuses;
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.purge-interval:3600000}")
+    @Transactional
+    public void purgeFinished() {
+        int deleted = outboxRepository.deleteFinishedBefore(
+            EnumSet.of(EmailStatus.SENT, EmailStatus.FAILED), LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Purged {} finished email(s) from the outbox", deleted);
+        }
+    }
+
+    public record EmailQueuedEvent(String taskId) {
+    }
+}
@@ -11,11 +11,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.mail.MailException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -28,16 +26,7 @@ public class EmailService {
         try {
             log.info("Sending email to: {} with subject: {}", request.getTo(), request.getSubject());
             
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setTo(request.getTo());
-            helper.setSubject(request.getSubject());
-            helper.setText(request.getBody(), request.isHtml());
-            
-            if (request.getFrom() != null && !request.getFrom().isEmpty()) {
-                helper.setFrom(request.getFrom());
-            }
+            MimeMessage message = createMessage(request);
 
             mailSender.send(message);
             
@@ -73,29 +62,17 @@ public class EmailService {
         }
     }
 
-    @Async("emailTaskExecutor")
-    public CompletableFuture<EmailResponse> sendEmailAsync(EmailRequest request) {
-        try {
-            log.info("Sending email asynchronously to: {} with subject: {}", request.getTo(), request.getSubject());
-            
-            EmailResponse response = sendEmail(request);
-            
-            log.info("Async email sent successfully to: {} with messageId: {}", 
-                    request.getTo(), response.getMessageId());
-            
-            return CompletableFuture.completedFuture(response);
-            
-        } catch (Exception e) {
-            log.error("Async email sending failed for: {} - Error: {}", request.getTo(), e.getMessage(), e);
-            
-            EmailResponse errorResponse = EmailResponse.failure(
-                request.getTo(), 
-                request.getSubject(), 
-                "ASYNC_EMAIL_ERROR", 
-                "Failed to send email asynchronously: " + e.getMessage()
-            );
-            
-            return CompletableFuture.completedFuture(errorResponse);
+    MimeMessage createMessage(EmailRequest request) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        helper.setTo(request.getTo());
+        helper.setSubject(request.getSubject());
+        helper.setText(request.getBody(), request.isHtml());
+
+        if (request.getFrom() != null && !request.getFrom().isEmpty()) {
+            helper.setFrom(request.getFrom());
         }
+        return message;
     }
 }
@@ -0,0 +1,95 @@
+package com.devwonder.notification_service.service;
+
+import com.devwonder.notification_service.dto.EmailRequest;
+import com.devwonder.notification_service.dto.NotificationEvent;
+import com.devwonder.notification_service.dto.NotificationTemplate;
+import com.devwonder.notification_service.exception.InvalidNotificationEventException;
+import com.devwonder.notification_service.repository.ProcessedEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Turns notification events into outbox emails, at most once per event id.
+ *
+ * The event id and the outbox row are written in one transaction, so a record
+ * redelivered after a rebalance or a failed offset commit is recognised and
+ * skipped, and an event is never marked processed without its email queued.
+ */
+@Service
+@Slf4j
+public class NotificationEventService {
+
+    private final ProcessedEventRepository processedEventRepository;
+    private final EmailOutboxService outboxService;
+    private final Duration dedupRetention;
+
+    public NotificationEventService(ProcessedEventRepository processedEventRepository,
+                                    EmailOutboxService outboxService,
+                                    @Value("${notification.events.dedup-retention:7d}") Duration dedupRetention) {
+        this.processedEventRepository = processedEventRepository;
+        this.outboxService = outboxService;
+        this.dedupRetention = dedupRetention;
+    }
+
+    /**
+     * @return false if the event had already been handled
+     */
+    @Transactional
+    public boolean handle(NotificationEvent event) {
+        EmailRequest request = toEmail(event);
+        if (processedEventRepository.insertIfAbsent(event.getEventId(), LocalDateTime.now()) == 0) {
+            log.debug("Skipping duplicate notification event {}", event.getEventId());
+            return false;
+        }
+        outboxService.enqueue(request);
+        return true;
+    }
+
+    static EmailRequest toEmail(NotificationEvent event) {
+        if (isBlank(event.getEventId())) {
+            throw new InvalidNotificationEventException("Notification event has no eventId");
+        }
+        if (isBlank(event.getRecipient())) {
+            throw new InvalidNotificationEventException("Notification event " + event.getEventId() + " has no recipient");
+        }
+
+        String subject = event.getSubject();
+        String body = event.getBody();
+        if (isBlank(subject) || isBlank(body)) {
+            NotificationTemplate template = NotificationTemplate.of(event.getType())
+                .orElseThrow(() -> new InvalidNotificationEventException(
+                    "Notification event " + event.getEventId() + " has unknown type " + event.getType()));
+            subject = template.getSubject();
+            body = template.getBody();
+        }
+
+        Map<String, String> data = event.getData() != null ? event.getData() : Map.of();
+        return new EmailRequest(
+            event.getRecipient(),
+            EmailBatchService.render(subject, data, false),
+            EmailBatchService.render(body, data, true),
+            null,
+            true
+        );
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.purge-interval:3600000}")
+    @Transactional
+    public void purgeProcessed() {
+        int deleted = processedEventRepository.deleteProcessedBefore(LocalDateTime.now().minus(dedupRetention));
+        if (deleted > 0) {
+            log.info("Purged {} processed notification event id(s)", deleted);
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,80 @@
+package com.devwonder.notification_service.benchmark;
+
+import com.devwonder.notification_service.mail.PooledJavaMailSender;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emails per second through a connection per send (plain JavaMailSenderImpl)
+ * and through the pooled sender, against a local GreenMail SMTP server with
+ * AUTH. Locally the handshake is only a few round trips; against a remote
+ * server with STARTTLS each one also costs a TLS handshake, so the gap widens.
+ *
+ * Not part of the test suite; run {@link #main(String[])} from the test classpath.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class MailSendBenchmark {
+
+    @Param({"per-send", "pooled"})
+    private String sender;
+
+    private GreenMail greenMail;
+    private JavaMailSenderImpl mailSender;
+    private SimpleMailMessage message;
+
+    @Setup
+    public void setup() {
+        greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        greenMail.setUser("noreply@4thitek.vn", "noreply", "secret");
+        greenMail.start();
+
+        mailSender = "pooled".equals(sender)
+                ? new PooledJavaMailSender(4, Duration.ofMinutes(1), Duration.ofSeconds(5), 1_000_000)
+                : new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(greenMail.getSmtp().getPort());
+        mailSender.setUsername("noreply");
+        mailSender.setPassword("secret");
+        mailSender.getJavaMailProperties().put("mail.smtp.auth", "true");
+
+        message = new SimpleMailMessage();
+        message.setFrom("noreply@4thitek.vn");
+        message.setTo("dealer@4thitek.vn");
+        message.setSubject("Order shipped");
+        message.setText("Your order has shipped.");
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        if (mailSender instanceof PooledJavaMailSender pooled) {
+            pooled.destroy();
+        }
+        greenMail.stop();
+    }
+
+    @Benchmark
+    public void send() {
+        mailSender.send(message);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MailSendBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
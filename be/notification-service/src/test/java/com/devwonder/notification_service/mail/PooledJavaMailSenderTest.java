@@ -0,0 +1,77 @@
+package com.devwonder.notification_service.mail;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.SimpleMailMessage;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PooledJavaMailSenderTest {
+
+    private GreenMail greenMail;
+    private ServerSetup smtp;
+    private PooledJavaMailSender mailSender;
+
+    @BeforeEach
+    void setUp() {
+        smtp = ServerSetupTest.SMTP.dynamicPort();
+        greenMail = new GreenMail(smtp);
+        greenMail.setUser("noreply@4thitek.vn", "noreply", "secret");
+        greenMail.start();
+
+        mailSender = new PooledJavaMailSender(2, Duration.ofMinutes(1), Duration.ofSeconds(5), 100);
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(greenMail.getSmtp().getPort());
+        mailSender.setUsername("noreply");
+        mailSender.setPassword("secret");
+        mailSender.getJavaMailProperties().put("mail.smtp.auth", "true");
+    }
+
+    @AfterEach
+    void tearDown() {
+        mailSender.destroy();
+        greenMail.stop();
+    }
+
+    @Test
+    void reusesOneConnectionForSequentialSends() {
+        for (int i = 0; i < 20; i++) {
+            mailSender.send(message(i));
+        }
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(20);
+        assertThat(mailSender.getCreatedConnections()).isEqualTo(1);
+        assertThat(mailSender.getIdleConnections()).isEqualTo(1);
+    }
+
+    @Test
+    void reconnectsWhenThePooledConnectionWasDropped() {
+        mailSender.send(message(1));
+
+        // Server restart closes the idle pooled connection
+        greenMail.stop();
+        greenMail = new GreenMail(new ServerSetup(mailSender.getPort(), smtp.getBindAddress(), smtp.getProtocol()));
+        greenMail.setUser("noreply@4thitek.vn", "noreply", "secret");
+        greenMail.start();
+
+        mailSender.send(message(2));
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+        assertThat(mailSender.getCreatedConnections()).isEqualTo(2);
+    }
+
+    private static SimpleMailMessage message(int i) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("noreply@4thitek.vn");
+        message.setTo("dealer" + i + "@4thitek.vn");
+        message.setSubject("Order " + i);
+        message.setText("Your order " + i + " has shipped.");
+        return message;
+    }
+}
@@ -0,0 +1,186 @@
+package com.devwonder.notification_service.service;
+
+import com.devwonder.notification_service.dto.EmailBatchRequest;
+import com.devwonder.notification_service.dto.EmailBatchSummary;
+import com.devwonder.notification_service.mail.PooledJavaMailSender;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailBatchServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private GreenMail greenMail;
+    private PooledJavaMailSender mailSender;
+    private ExecutorService executor;
+    private EmailBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        greenMail.setUser("noreply@4thitek.vn", "noreply", "secret");
+        greenMail.start();
+
+        mailSender = new PooledJavaMailSender(4, Duration.ofMinutes(1), Duration.ofSeconds(5), 1000);
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(greenMail.getSmtp().getPort());
+        mailSender.setUsername("noreply");
+        mailSender.setPassword("secret");
+        mailSender.getJavaMailProperties().put("mail.smtp.auth", "true");
+
+        executor = Executors.newFixedThreadPool(4);
+        batchService = new EmailBatchService(new EmailService(mailSender), mailSender, objectMapper, executor, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        mailSender.destroy();
+        greenMail.stop();
+    }
+
+    @Test
+    void sendsTemplateToEveryRecipientOverAFewSessions() throws Exception {
+        List<EmailBatchRequest.Recipient> recipients = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            recipients.add(new EmailBatchRequest.Recipient("dealer" + i + "@4thitek.vn", Map.of("name", "Dealer " + i)));
+        }
+        EmailBatchRequest request = new EmailBatchRequest(null,
+                new EmailBatchRequest.Template("Hello {{name}}", "Hi {{ name }}, your order shipped.", "noreply@4thitek.vn", false),
+                recipients);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        EmailBatchSummary summary = batchService.sendBatch(request, out);
+
+        assertThat(summary.getSent()).isEqualTo(30);
+        assertThat(summary.getFailed()).isZero();
+        assertThat(mailSender.getCreatedConnections()).isLessThanOrEqualTo(3);
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(30);
+        assertThat(received).extracting(MimeMessage::getSubject).contains("Hello Dealer 0", "Hello Dealer 29");
+        assertThat(GreenMailUtil.getBody(received[0])).contains("your order shipped.");
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(31);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("type").asText()).isEqualTo("result");
+        assertThat(first.get("success").asBoolean()).isTrue();
+        assertThat(first.get("messageId").asText()).isNotBlank();
+        JsonNode last = objectMapper.readTree(lines[30]);
+        assertThat(last.get("type").asText()).isEqualTo("summary");
+        assertThat(last.get("sent").asInt()).isEqualTo(30);
+    }
+
+    @Test
+    void streamsEachResultWhenNoWorkerIsFree() throws Exception {
+        batchService = new EmailBatchService(new EmailService(mailSender), mailSender, objectMapper, task -> {
+            throw new RejectedExecutionException("all workers busy");
+        }, 3);
+        List<EmailBatchRequest.Recipient> recipients = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            recipients.add(new EmailBatchRequest.Recipient("dealer" + i + "@4thitek.vn", Map.of()));
+        }
+        EmailBatchRequest request = new EmailBatchRequest(null,
+                new EmailBatchRequest.Template("Hello", "Your order shipped.", "noreply@4thitek.vn", false),
+                recipients);
+        // Messages delivered by the time each line reaches the client
+        List<Integer> deliveredPerLine = new ArrayList<>();
+        OutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void write(int b) {
+                super.write(b);
+                if (b == '\n') {
+                    deliveredPerLine.add(greenMail.getReceivedMessages().length);
+                }
+            }
+        };
+
+        EmailBatchSummary summary = batchService.sendBatch(request, out);
+
+        assertThat(summary.getSent()).isEqualTo(5);
+        // Results are written as they are sent, not after the whole batch
+        assertThat(deliveredPerLine).containsExactly(1, 2, 3, 4, 5, 5);
+    }
+
+    @Test
+    void stopsTheBatchWhenTheMailServerRejectsTheCredentials() throws Exception {
+        mailSender.setPassword("wrong");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        EmailBatchSummary summary = batchService.sendBatch(template(50), out);
+
+        // At most one login attempt per worker, not one per recipient
+        assertThat(summary.getFailed()).isBetween(1, 3);
+        assertThat(summary.getSent()).isZero();
+        assertThat(summary.getNotAttempted()).isEqualTo(50 - summary.getFailed());
+        assertThat(summary.getErrorCode()).isEqualTo("MAIL_CONFIG_ERROR");
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(summary.getFailed() + 1);
+        assertThat(objectMapper.readTree(lines[0]).get("errorCode").asText()).isEqualTo("MAIL_CONFIG_ERROR");
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void reportsAFailureForEachIndexWhenWorkersDie() throws Exception {
+        JavaMailSenderImpl dying = new JavaMailSenderImpl() {
+            @Override
+            public void send(MimeMessage message) {
+                throw new StackOverflowError();
+            }
+        };
+        batchService = new EmailBatchService(new EmailService(dying), dying, objectMapper, executor, 3);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        EmailBatchSummary summary = batchService.sendBatch(template(5), out);
+
+        // Each worker dies on its first message: that message is reported, the rest never sent
+        assertThat(summary.getFailed()).isEqualTo(3);
+        assertThat(summary.getNotAttempted()).isEqualTo(2);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(4);
+        assertThat(objectMapper.readTree(lines[0]).get("errorCode").asText()).isEqualTo("UNKNOWN_ERROR");
+    }
+
+    @Test
+    void escapesPlaceholderValuesInHtmlBodies() {
+        String rendered = EmailBatchService.render("<p>{{name}}</p>", Map.of("name", "<b>A&B</b>"), true);
+
+        assertThat(rendered).isEqualTo("<p>&lt;b&gt;A&amp;B&lt;/b&gt;</p>");
+    }
+
+    private static EmailBatchRequest template(int recipientCount) {
+        List<EmailBatchRequest.Recipient> recipients = new ArrayList<>();
+        for (int i = 0; i < recipientCount; i++) {
+            recipients.add(new EmailBatchRequest.Recipient("dealer" + i + "@4thitek.vn", Map.of()));
+        }
+        return new EmailBatchRequest(null,
+                new EmailBatchRequest.Template("Hello", "Your order shipped.", "noreply@4thitek.vn", false),
+                recipients);
+    }
+}
@@ -0,0 +1,123 @@
+package com.devwonder.notification_service.service;
+
+import com.devwonder.notification_service.dto.EmailRequest;
+import com.devwonder.notification_service.entity.EmailOutbox;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Each claimed email is marked sent as soon as it goes out, and each kind of
+ * failure is retried or given up on according to whether a retry can help.
+ */
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherTest {
+
+    @Mock
+    private EmailOutboxService outboxService;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new EmailOutboxDispatcher(outboxService, emailService, mailSender, 1, 20, Duration.ofSeconds(1));
+    }
+
+    @Test
+    void marksEachEmailSentBeforeSendingTheNext() throws Exception {
+        EmailOutbox first = claimed(1L, "dealer1@4thitek.vn");
+        EmailOutbox second = claimed(2L, "dealer2@4thitek.vn");
+        when(outboxService.claim(20)).thenReturn(List.of(first, second));
+        MimeMessage firstMessage = mock(MimeMessage.class);
+        MimeMessage secondMessage = mock(MimeMessage.class);
+        when(emailService.createMessage(any(EmailRequest.class))).thenReturn(firstMessage, secondMessage);
+
+        dispatcher.dispatchOnce();
+
+        InOrder inOrder = inOrder(mailSender, outboxService);
+        inOrder.verify(mailSender).send(firstMessage);
+        inOrder.verify(outboxService).markSent(List.of(1L));
+        inOrder.verify(mailSender).send(secondMessage);
+        inOrder.verify(outboxService).markSent(List.of(2L));
+    }
+
+    @Test
+    void classifiesFailuresAsPermanentOrRetryable() throws Exception {
+        EmailOutbox malformed = claimed(1L, "not an address");
+        EmailOutbox badCredentials = claimed(2L, "dealer2@4thitek.vn");
+        EmailOutbox rejected = claimed(3L, "nobody@4thitek.vn");
+        EmailOutbox unavailable = claimed(4L, "dealer4@4thitek.vn");
+        EmailOutbox unexpected = claimed(5L, "dealer5@4thitek.vn");
+        when(outboxService.claim(20)).thenReturn(List.of(malformed, badCredentials, rejected, unavailable, unexpected));
+
+        MimeMessage message = mock(MimeMessage.class);
+        when(emailService.createMessage(any(EmailRequest.class)))
+            .thenThrow(new MessagingException("Illegal address"))
+            .thenReturn(message);
+        SendFailedException invalidRecipient = new SendFailedException("550 No such user", null,
+            new Address[0], new Address[0], new Address[]{new InternetAddress("nobody@4thitek.vn")});
+        doThrow(new MailAuthenticationException("535 Authentication failed"))
+            .doThrow(new MailSendException(Map.of(message, invalidRecipient)))
+            .doThrow(new MailSendException("421 Service not available"))
+            .doThrow(new IllegalStateException("boom"))
+            .when(mailSender).send(message);
+
+        dispatcher.dispatchOnce();
+
+        verify(outboxService).markFailed(eq(malformed), eq("MESSAGING_ERROR"), anyString(), eq(true));
+        verify(outboxService).markFailed(eq(badCredentials), eq("MAIL_CONFIG_ERROR"), anyString(), eq(false));
+        verify(outboxService).markFailed(eq(rejected), eq("RECIPIENT_REJECTED"), anyString(), eq(true));
+        verify(outboxService).markFailed(eq(unavailable), eq("SEND_FAILED"), anyString(), eq(false));
+        verify(outboxService).markFailed(eq(unexpected), eq("UNKNOWN_ERROR"), eq("boom"), eq(false));
+        verify(outboxService, never()).markSent(any());
+    }
+
+    @Test
+    void skipsEmailsWhoseLeaseExpiredDuringTheBatch() throws Exception {
+        EmailOutbox expired = claimed(1L, "dealer1@4thitek.vn");
+        expired.setLockedUntil(LocalDateTime.now().minusSeconds(1));
+        when(outboxService.claim(20)).thenReturn(List.of(expired));
+
+        dispatcher.dispatchOnce();
+
+        verifyNoInteractions(emailService, mailSender);
+        verify(outboxService, never()).markSent(any());
+        verify(outboxService, never()).markFailed(any(), anyString(), anyString(), anyBoolean());
+    }
+
+    private static EmailOutbox claimed(Long id, String to) {
+        EmailOutbox email = EmailOutbox.pending(new EmailRequest(to, "Order", "Your order has shipped.", null, false),
+            LocalDateTime.now());
+        email.setId(id);
+        email.setLockedUntil(LocalDateTime.now().plusMinutes(2));
+        return email;
+    }
+}
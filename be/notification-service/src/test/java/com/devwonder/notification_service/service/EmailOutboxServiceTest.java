@@ -0,0 +1,177 @@
+package com.devwonder.notification_service.service;
+
+import com.devwonder.notification_service.dto.EmailRequest;
+import com.devwonder.notification_service.dto.EmailStatusResponse;
+import com.devwonder.notification_service.entity.EmailOutbox;
+import com.devwonder.notification_service.entity.EmailStatus;
+import com.devwonder.notification_service.exception.EmailTaskNotFoundException;
+import com.devwonder.notification_service.repository.EmailOutboxRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Workers on several replicas claim from the same table; SKIP LOCKED must hand
+ * every row to exactly one of them.
+ */
+@DataJpaTest(properties = {
+    // Skip application.properties and its config-server import
+    "spring.config.name=none",
+    "spring.cloud.config.enabled=false",
+    "spring.datasource.url=jdbc:h2:mem:outbox;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "mail.outbox.max-attempts=2"
+})
+@Import(EmailOutboxService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailOutboxServiceTest {
+
+    @Autowired
+    private EmailOutboxService outboxService;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentWorkersClaimEachEmailOnce() throws Exception {
+        for (int i = 0; i < 200; i++) {
+            outboxService.enqueue(request(i));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        Set<Long> claimed = ConcurrentHashMap.newKeySet();
+        List<Long> duplicates = new CopyOnWriteArrayList<>();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < 8; w++) {
+            futures.add(executor.submit(() -> {
+                List<EmailOutbox> batch;
+                while (!(batch = outboxService.claim(7)).isEmpty()) {
+                    for (EmailOutbox email : batch) {
+                        if (!claimed.add(email.getId())) {
+                            duplicates.add(email.getId());
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(duplicates).isEmpty();
+        assertThat(claimed).hasSize(200);
+        assertThat(outboxRepository.findAll()).allSatisfy(email -> {
+            assertThat(email.getStatus()).isEqualTo(EmailStatus.SENDING);
+            assertThat(email.getAttempts()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void failedEmailIsRetriedLaterAndGivenUpAfterMaxAttempts() {
+        outboxService.enqueue(request(1));
+
+        EmailOutbox first = outboxService.claim(10).get(0);
+        outboxService.markFailed(first, "SEND_FAILED", "421 Service not available", false);
+
+        EmailOutbox retrying = outboxRepository.findById(first.getId()).orElseThrow();
+        assertThat(retrying.getStatus()).isEqualTo(EmailStatus.PENDING);
+        assertThat(retrying.getNextAttemptAt()).isAfter(retrying.getCreatedAt());
+        assertThat(outboxService.claim(10)).isEmpty();
+
+        // Make it due again
+        retrying.setNextAttemptAt(retrying.getCreatedAt());
+        outboxRepository.save(retrying);
+        EmailOutbox second = outboxService.claim(10).get(0);
+        outboxService.markFailed(second, "SEND_FAILED", "421 Service not available", false);
+
+        assertThat(outboxRepository.findById(first.getId()).orElseThrow().getStatus()).isEqualTo(EmailStatus.FAILED);
+    }
+
+    @Test
+    void sentEmailsAreNotClaimedAgain() {
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(outboxService.enqueue(request(i)).getId());
+        }
+
+        outboxService.claim(10);
+        outboxService.markSent(ids);
+
+        assertThat(outboxService.claim(10)).isEmpty();
+        assertThat(outboxRepository.findAll()).extracting(EmailOutbox::getStatus).containsOnly(EmailStatus.SENT);
+    }
+
+    @Test
+    void reportsTaskLifecycleAndUnknownIds() {
+        EmailOutbox toSend = outboxService.enqueue(request(1));
+        EmailOutbox toFail = outboxService.enqueue(request(2));
+        String sent = toSend.getTaskId();
+        String failed = toFail.getTaskId();
+        outboxService.claim(10);
+        outboxService.markSent(List.of(toSend.getId()));
+        outboxService.markFailed(toFail, "RECIPIENT_REJECTED", "550 No such user", true);
+        String queued = outboxService.enqueue(request(3)).getTaskId();
+
+        assertThat(outboxService.findStatus(queued).getStatus()).isEqualTo("QUEUED");
+        assertThatThrownBy(() -> outboxService.findStatus("missing"))
+            .isInstanceOf(EmailTaskNotFoundException.class);
+
+        List<EmailStatusResponse> statuses = outboxService.findStatuses(List.of(failed, "missing", sent, failed));
+        assertThat(statuses).extracting(EmailStatusResponse::getTaskId).containsExactly(failed, "missing", sent);
+        assertThat(statuses).extracting(EmailStatusResponse::getStatus).containsExactly("FAILED", "NOT_FOUND", "SENT");
+        assertThat(statuses.get(0).getErrorCode()).isEqualTo("RECIPIENT_REJECTED");
+        assertThat(statuses.get(2).getSentAt()).isNotNull();
+    }
+
+    @Test
+    void statusTurnsSentAsEachEmailGoesOut() throws Exception {
+        String first = outboxService.enqueue(request(1)).getTaskId();
+        String second = outboxService.enqueue(request(2)).getTaskId();
+
+        EmailService emailService = mock(EmailService.class);
+        when(emailService.createMessage(any(EmailRequest.class))).thenAnswer(invocation -> mock(MimeMessage.class));
+        JavaMailSender mailSender = mock(JavaMailSender.class);
+        // What a client polling the status API sees while each email is being sent
+        List<List<String>> seen = new ArrayList<>();
+        doAnswer(invocation -> seen.add(outboxService.findStatuses(List.of(first, second)).stream()
+            .map(EmailStatusResponse::getStatus).toList()))
+            .when(mailSender).send(any(MimeMessage.class));
+
+        new EmailOutboxDispatcher(outboxService, emailService, mailSender, 1, 10, Duration.ofSeconds(1)).dispatchOnce();
+
+        assertThat(seen).containsExactly(List.of("SENDING", "SENDING"), List.of("SENT", "SENDING"));
+        assertThat(outboxService.findStatus(second).getStatus()).isEqualTo("SENT");
+    }
+
+    private static EmailRequest request(int i) {
+        return new EmailRequest("dealer" + i + "@4thitek.vn", "Order " + i, "Your order " + i + " has shipped.",
+            null, false);
+    }
+}
@@ -0,0 +1,80 @@
+package com.devwonder.notification_service.service;
+
+import com.devwonder.notification_service.dto.NotificationEvent;
+import com.devwonder.notification_service.entity.EmailOutbox;
+import com.devwonder.notification_service.exception.InvalidNotificationEventException;
+import com.devwonder.notification_service.repository.EmailOutboxRepository;
+import com.devwonder.notification_service.repository.ProcessedEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+    // Skip application.properties and its config-server import
+    "spring.config.name=none",
+    "spring.cloud.config.enabled=false",
+    "spring.datasource.url=jdbc:h2:mem:events;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({NotificationEventService.class, EmailOutboxService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationEventServiceTest {
+
+    @Autowired
+    private NotificationEventService notificationEventService;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private ProcessedEventRepository processedEventRepository;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+        processedEventRepository.deleteAll();
+    }
+
+    @Test
+    void redeliveredEventQueuesOneEmail() {
+        NotificationEvent event = NotificationEvent.builder()
+            .eventId("warranty-42-approved")
+            .type("warranty_claim_updated")
+            .recipient("dealer@4thitek.vn")
+            .data(Map.of("name", "Tran & Sons", "claimId", "WC-42", "product", "4T Buds", "status", "APPROVED"))
+            .build();
+
+        assertThat(notificationEventService.handle(event)).isTrue();
+        assertThat(notificationEventService.handle(event)).isFalse();
+
+        List<EmailOutbox> queued = outboxRepository.findAll();
+        assertThat(queued).hasSize(1);
+        assertThat(queued.get(0).getTo()).isEqualTo("dealer@4thitek.vn");
+        assertThat(queued.get(0).getSubject()).isEqualTo("Warranty claim WC-42 is now APPROVED");
+        assertThat(queued.get(0).getBody()).contains("Hi Tran &amp; Sons,");
+    }
+
+    @Test
+    void invalidEventIsRejectedWithoutBeingMarkedProcessed() {
+        NotificationEvent event = NotificationEvent.builder()
+            .eventId("evt-1")
+            .type("NO_SUCH_TYPE")
+            .recipient("dealer@4thitek.vn")
+            .build();
+
+        assertThatThrownBy(() -> notificationEventService.handle(event))
+            .isInstanceOf(InvalidNotificationEventException.class);
+        assertThat(processedEventRepository.count()).isZero();
+        assertThat(outboxRepository.count()).isZero();
+    }
+}